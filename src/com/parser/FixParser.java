@@ -1,5 +1,8 @@
 package com.parser;
 
+import com.parser.dictionary.EnumDecoder;
+import com.parser.dictionary.EnumMapper;
+import com.parser.dictionary.FixEnumValue;
 import com.parser.utils.ByteUtils;
 import com.parser.utils.FieldLocationMap;
 import com.parser.validate.ChecksumValidator;
@@ -21,6 +24,8 @@ public class FixParser {
 
     private final FieldLocationMap fieldLocationMap;
     private final List<MessageValidator> messageValidators;
+    private int messageOffset;
+    private int messageLength;
 
     /**
      * Constructs a new FixParser instance with the default maximum number of expected fields.
@@ -34,9 +39,8 @@ public class FixParser {
      */
     public FixParser(int maxNumberOfFieldsExpected) {
         this.fieldLocationMap = new FieldLocationMap(maxNumberOfFieldsExpected);
-        this.messageValidators = new ArrayList<>() {{
-            add(new ChecksumValidator());
-        }};
+        this.messageValidators = new ArrayList<>();
+        this.messageValidators.add(new ChecksumValidator());
     }
 
     /**
@@ -47,19 +51,36 @@ public class FixParser {
      * @return true if parsing is successfully along with validations.
      */
     public boolean parse(byte[] data) {
+        return parse(data, 0, data.length);
+    }
+
+    /**
+     * Parses a FIX message located anywhere in the given byte array, e.g. in a receive buffer.
+     * Offsets of the parsed fields are relative to the start of the array, so the accessors are
+     * used with the same array.
+     *
+     * @param data   The byte array holding the FIX message.
+     * @param offset The offset of the first byte of the message.
+     * @param length The length of the message.
+     * @return true if parsing is successfully along with validations.
+     */
+    public boolean parse(byte[] data, int offset, int length) {
         this.fieldLocationMap.clear();
+        this.messageOffset = offset;
+        this.messageLength = length;
 
-        int i = 0;
-        while (i < data.length) {
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
             int fixTagStart = i;
             // Find '=' to get the tag
-            while (i < data.length && data[i] != EQUALS)
+            while (i < end && data[i] != EQUALS)
                 i++;
             int tag = ByteUtils.readInt(data, fixTagStart, i - fixTagStart);
             i++; // skip '='
             int fixValStart = i;
             // Find SOH to get the value
-            while (i < data.length && data[i] != SOH)
+            while (i < end && data[i] != SOH)
                 i++;
             this.fieldLocationMap.put(tag, fixValStart, i - fixValStart);
             i++; // skip SOH
@@ -67,6 +88,38 @@ public class FixParser {
         return validate(data);
     }
 
+    /**
+     * Starts a message that is indexed field by field, e.g. by {@link IncrementalFixParser}.
+     * Clears any previously parsed state.
+     *
+     * @param offset The offset of the first byte of the message.
+     */
+    void beginMessage(int offset) {
+        this.fieldLocationMap.clear();
+        this.messageOffset = offset;
+        this.messageLength = 0;
+    }
+
+    /**
+     * Records the location of a field of the message started with {@link #beginMessage(int)}.
+     *
+     * @param tag    The FIX tag.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     */
+    void putField(int tag, int offset, int length) {
+        this.fieldLocationMap.put(tag, offset, length);
+    }
+
+    /**
+     * Completes the message started with {@link #beginMessage(int)}.
+     *
+     * @param length The length of the message.
+     */
+    void endMessage(int length) {
+        this.messageLength = length;
+    }
+
     /**
      * Validates the FIX message using all registered validators.
      *
@@ -75,12 +128,50 @@ public class FixParser {
      */
     private boolean validate(byte[] data) {
         boolean result = true;
-        for (MessageValidator validator : this.messageValidators) {
-            result = result & validator.validate(data, this);
+        // indexed loop, so no iterator is created per message
+        for (int i = 0; i < this.messageValidators.size(); i++) {
+            result = result & this.messageValidators.get(i).validate(data, this);
         }
         return result;
     }
 
+    /**
+     * Returns the offset in the byte array of the last parsed message.
+     *
+     * @return The offset of the first byte of the message.
+     */
+    public int getMessageOffset() {
+        return messageOffset;
+    }
+
+    /**
+     * Returns the length of the last parsed message.
+     *
+     * @return The length of the message in bytes.
+     */
+    public int getMessageLength() {
+        return messageLength;
+    }
+
+    /**
+     * Copies the locations of the parsed fields into the given map, so they remain available
+     * after this parser moves on to the next message.
+     *
+     * @param target A map created with the same maximum number of fields as this parser.
+     */
+    public void copyFieldLocations(FieldLocationMap target) {
+        fieldLocationMap.copyTo(target);
+    }
+
+    /**
+     * Returns the maximum number of fields this parser can hold.
+     *
+     * @return The maximum number of fields.
+     */
+    public int getMaxNumberOfFields() {
+        return fieldLocationMap.capacity();
+    }
+
     /**
      * Checks if a tag exists in the parsed FIX message.
      *
@@ -188,6 +279,7 @@ public class FixParser {
 
     /**
      * Reads the raw byte array value for the specified FIX tag.
+     * This allocates a new array on every call, use {@link #getBytes(byte[], int, byte[])} on the hot path.
      *
      * @param data The raw FIX message byte array.
      * @param tag  The FIX tag to retrieve.
@@ -201,4 +293,47 @@ public class FixParser {
         return values;
     }
 
-}
\ No newline at end of file
+    /**
+     * Copies the raw value for the specified FIX tag to a pre-allocated destination.
+     *
+     * @param data The raw FIX message byte array.
+     * @param tag  The FIX tag to retrieve.
+     * @param dest A reusable pre-allocated byte array.
+     * @return The number of bytes copied.
+     */
+    public int getBytes(byte[] data, int tag, byte[] dest) {
+        checkFieldExists(tag);
+        int index = getIndex(tag);
+        return ByteUtils.readBytes(data, fieldLocationMap.getOffset(index), fieldLocationMap.getLength(index), dest);
+    }
+
+    /**
+     * Decodes the enum value for the specified FIX tag to its ordinal in a dictionary.
+     *
+     * @param data    The raw FIX message byte array.
+     * @param tag     The FIX tag to retrieve.
+     * @param decoder The dictionary of values for the tag.
+     * @return The ordinal of the value, or {@link EnumDecoder#UNKNOWN} if not in the dictionary.
+     */
+    public int getEnum(byte[] data, int tag, EnumDecoder decoder) {
+        checkFieldExists(tag);
+        int index = getIndex(tag);
+        return decoder.decode(data, fieldLocationMap.getOffset(index), fieldLocationMap.getLength(index));
+    }
+
+    /**
+     * Decodes the enum value for the specified FIX tag to a preallocated constant.
+     *
+     * @param data   The raw FIX message byte array.
+     * @param tag    The FIX tag to retrieve.
+     * @param mapper The dictionary of constants for the tag, e.g. {@code Side.MAPPER}.
+     * @param <E>    The Java enum mirroring the FIX field.
+     * @return The matching constant, or the unknown sentinel of the enum.
+     */
+    public <E extends Enum<E> & FixEnumValue> E getEnum(byte[] data, int tag, EnumMapper<E> mapper) {
+        checkFieldExists(tag);
+        int index = getIndex(tag);
+        return mapper.decode(data, fieldLocationMap.getOffset(index), fieldLocationMap.getLength(index));
+    }
+
+}
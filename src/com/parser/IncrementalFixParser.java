@@ -0,0 +1,194 @@
+package com.parser;
+
+/**
+ * Parser that can be fed a FIX message in fragments, e.g. as it arrives from successive socket reads.
+ * The scan state (position, partially read tag, start of the current value and running checksum) is kept
+ * between calls, so every byte is scanned exactly once however many fragments the message spans.
+ * Fragments are copied into an internal message buffer as they are scanned; once the message is
+ * complete its fields are read through {@link #getParser()} with {@link #getData()}.
+ *
+ * <p>The checksum is verified from the running sum instead of running the parser's validators,
+ * which would scan the message a second time.</p>
+ */
+public class IncrementalFixParser {
+    private static final byte SOH = 0x01;
+    private static final byte EQUALS = '=';
+    private static final int CHECKSUM = 10;
+    private static final int DEFAULT_MAXIMUM_MESSAGE_LENGTH = 64 * 1024;
+    private static final int DEFAULT_MAXIMUM_FIELDS_EXPECTED = 200;
+
+    private final FixParser parser;
+    private final byte[] data;
+
+    // scan state
+    private int position;
+    private boolean inValue;
+    private int partialTag;
+    private int tagDigits;
+    private int valueStart;
+    private int runningSum;
+    private int sumBeforeField;
+    private boolean complete;
+    private boolean valid;
+
+    /**
+     * Constructs a new IncrementalFixParser with default message length and number of fields.
+     */
+    public IncrementalFixParser() {
+        this(DEFAULT_MAXIMUM_MESSAGE_LENGTH, DEFAULT_MAXIMUM_FIELDS_EXPECTED);
+    }
+
+    /**
+     * Constructs a new IncrementalFixParser.
+     *
+     * @param maxMessageLength          The maximum length of a message.
+     * @param maxNumberOfFieldsExpected The maximum number of fields of a message.
+     */
+    public IncrementalFixParser(int maxMessageLength, int maxNumberOfFieldsExpected) {
+        this.parser = new FixParser(maxNumberOfFieldsExpected);
+        this.data = new byte[maxMessageLength];
+        reset();
+    }
+
+    /**
+     * Discards the current message and prepares for the next one.
+     */
+    public void reset() {
+        parser.beginMessage(0);
+        position = 0;
+        inValue = false;
+        partialTag = 0;
+        tagDigits = 0;
+        valueStart = 0;
+        runningSum = 0;
+        sumBeforeField = 0;
+        complete = false;
+        valid = false;
+    }
+
+    /**
+     * Scans the next fragment of the message, continuing from where the previous call stopped.
+     * Scanning stops at the end of the message, the rest of the fragment is left unconsumed and
+     * belongs to the next message, to be appended after {@link #reset()}.
+     *
+     * @param src    The buffer holding the fragment.
+     * @param offset The offset of the fragment.
+     * @param length The length of the fragment.
+     * @return The number of bytes consumed from the fragment.
+     * @throws IllegalStateException if the message is already complete.
+     * @throws NumberFormatException if a tag contains a non-numeric character.
+     * @throws RuntimeException      if the message exceeds the maximum message length.
+     */
+    public int append(byte[] src, int offset, int length) {
+        if (complete) {
+            throw new IllegalStateException("Message already complete, reset before appending");
+        }
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            if (position == data.length) {
+                throw new RuntimeException("Message exceeds maximum length of " + data.length);
+            }
+            byte b = src[i++];
+            data[position++] = b;
+            if (inValue) {
+                if (b == SOH) {
+                    int valueLength = position - 1 - valueStart;
+                    parser.putField(partialTag, valueStart, valueLength);
+                    if (partialTag == CHECKSUM) {
+                        completeMessage(valueLength);
+                        break;
+                    }
+                    runningSum += b & 0xFF;
+                    sumBeforeField = runningSum;
+                    inValue = false;
+                    partialTag = 0;
+                    tagDigits = 0;
+                } else {
+                    runningSum += b & 0xFF;
+                }
+            } else {
+                runningSum += b & 0xFF;
+                if (b == EQUALS) {
+                    if (tagDigits == 0) {
+                        throw new NumberFormatException("Empty tag");
+                    }
+                    inValue = true;
+                    valueStart = position;
+                } else if (b >= '0' && b <= '9') {
+                    partialTag = (partialTag * 10) + (b - '0');
+                    tagDigits++;
+                } else {
+                    throw new NumberFormatException("Invalid character in tag");
+                }
+            }
+        }
+        return i - offset;
+    }
+
+    /**
+     * Completes the message on the SOH of the CheckSum field and verifies the declared checksum
+     * against the sum of the bytes before the field.
+     */
+    private void completeMessage(int checksumLength) {
+        complete = true;
+        parser.endMessage(position);
+        valid = checksumLength > 0;
+        int declared = 0;
+        for (int p = valueStart; p < valueStart + checksumLength; p++) {
+            byte b = data[p];
+            if (b < '0' || b > '9') {
+                valid = false;
+                break;
+            }
+            declared = declared * 10 + (b - '0');
+        }
+        valid = valid && declared == sumBeforeField % 256;
+    }
+
+    /**
+     * Checks if a complete message, ending with its CheckSum field, has been scanned.
+     *
+     * @return True if the message is complete.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Checks if the complete message has a valid checksum.
+     *
+     * @return True if the message is complete and its checksum is valid.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns the number of bytes of the message scanned so far.
+     *
+     * @return The message length.
+     */
+    public int getLength() {
+        return position;
+    }
+
+    /**
+     * Returns the buffer the message is assembled in, to be passed to the parser's accessors.
+     *
+     * @return The message buffer.
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Returns the parser holding the location of every field scanned so far.
+     * Fields completed before the message itself are already available.
+     *
+     * @return The parser.
+     */
+    public FixParser getParser() {
+        return parser;
+    }
+}
@@ -0,0 +1,21 @@
+package com.parser.archive;
+
+import com.parser.FixParser;
+
+/**
+ * Callback receiving the messages matching an {@link ArchiveQuery}.
+ * The message bytes and the parser are only valid until the call returns. When an archive is
+ * scanned with several threads, calls are made concurrently from every thread.
+ */
+public interface ArchiveMessageHandler {
+
+    /**
+     * Called for every matching message.
+     *
+     * @param data      The decompressed block holding the message.
+     * @param offset    The offset of the message.
+     * @param length    The length of the message.
+     * @param fixParser The parser holding the parsed message.
+     */
+    void onMessage(byte[] data, int offset, int length, FixParser fixParser);
+}
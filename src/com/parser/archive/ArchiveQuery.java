@@ -0,0 +1,108 @@
+package com.parser.archive;
+
+import com.parser.FixParser;
+import com.parser.utils.ByteUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Selection of messages to read from an archive. Conditions left unset match every message.
+ * Blocks whose {@link BlockMetadata} cannot match are skipped without being decompressed;
+ * messages of the remaining blocks are then checked one by one.
+ */
+public class ArchiveQuery {
+    private long fromSeqNum = Long.MIN_VALUE;
+    private long toSeqNum = Long.MAX_VALUE;
+    private boolean seqNumRange;
+    private long fromTime = Long.MIN_VALUE;
+    private long toTime = Long.MAX_VALUE;
+    private boolean timeRange;
+    private long msgTypeBits;
+    private byte[][] msgTypes = new byte[0][];
+
+    /**
+     * Restricts the query to an inclusive MsgSeqNum (34) range.
+     *
+     * @param from The lowest sequence number.
+     * @param to   The highest sequence number.
+     * @return This query.
+     */
+    public ArchiveQuery seqNumRange(long from, long to) {
+        this.fromSeqNum = from;
+        this.toSeqNum = to;
+        this.seqNumRange = true;
+        return this;
+    }
+
+    /**
+     * Restricts the query to an inclusive SendingTime (52) range.
+     *
+     * @param fromMillis The earliest time in epoch milliseconds.
+     * @param toMillis   The latest time in epoch milliseconds.
+     * @return This query.
+     */
+    public ArchiveQuery timeRange(long fromMillis, long toMillis) {
+        this.fromTime = fromMillis;
+        this.toTime = toMillis;
+        this.timeRange = true;
+        return this;
+    }
+
+    /**
+     * Adds a MsgType (35) to select; once any is added only the added types match.
+     *
+     * @param msgType The MsgType, e.g. "8".
+     * @return This query.
+     */
+    public ArchiveQuery msgType(String msgType) {
+        byte[] value = msgType.getBytes(StandardCharsets.US_ASCII);
+        msgTypes = Arrays.copyOf(msgTypes, msgTypes.length + 1);
+        msgTypes[msgTypes.length - 1] = value;
+        msgTypeBits |= 1L << BlockMetadata.msgTypeBit(value, 0, value.length);
+        return this;
+    }
+
+    /**
+     * Checks if a block may hold matching messages.
+     *
+     * @param block The block summary.
+     * @return False if no message of the block can match.
+     */
+    public boolean mayMatch(BlockMetadata block) {
+        if (seqNumRange && (block.maxSeqNum < fromSeqNum || block.minSeqNum > toSeqNum)) return false;
+        if (timeRange && (block.maxTime < fromTime || block.minTime > toTime)) return false;
+        return msgTypes.length == 0 || (block.msgTypes & msgTypeBits) != 0;
+    }
+
+    /**
+     * Checks if a parsed message matches.
+     *
+     * @param data      The byte array holding the message.
+     * @param fixParser The parser holding the parsed message.
+     * @return True if the message matches every condition.
+     */
+    public boolean matches(byte[] data, FixParser fixParser) {
+        if (seqNumRange) {
+            if (fixParser.fieldDoesNotExists(BlockMetadata.MSG_SEQ_NUM)) return false;
+            long seqNum = fixParser.getLong(data, BlockMetadata.MSG_SEQ_NUM);
+            if (seqNum < fromSeqNum || seqNum > toSeqNum) return false;
+        }
+        if (timeRange) {
+            if (fixParser.fieldDoesNotExists(BlockMetadata.SENDING_TIME)) return false;
+            long time = ByteUtils.readTimestampMillis(data, fixParser.getOffset(BlockMetadata.SENDING_TIME),
+                    fixParser.getLength(BlockMetadata.SENDING_TIME));
+            if (time < fromTime || time > toTime) return false;
+        }
+        if (msgTypes.length > 0) {
+            if (fixParser.fieldDoesNotExists(BlockMetadata.MSG_TYPE)) return false;
+            int offset = fixParser.getOffset(BlockMetadata.MSG_TYPE);
+            int length = fixParser.getLength(BlockMetadata.MSG_TYPE);
+            for (byte[] msgType : msgTypes) {
+                if (Arrays.equals(msgType, 0, msgType.length, data, offset, offset + length)) return true;
+            }
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,231 @@
+package com.parser.archive;
+
+import com.parser.FixParser;
+import com.parser.utils.ByteUtils;
+import com.parser.utils.MessageFramer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Reads an archive written by {@link ArchiveWriter}.
+ * The block index is loaded when the archive is opened; a scan skips the blocks whose metadata
+ * cannot match the query and decompresses the others into a reusable buffer, where messages are
+ * parsed in place by {@link FixParser}. Scans can be spread over several threads, one block at a time.
+ */
+public class ArchiveReader implements Closeable {
+    private final FileChannel channel;
+    private final Supplier<BlockCodec> codecFactory;
+    private final BlockMetadata[] blocks;
+    private final int maxCompressedLength;
+    private final int maxUncompressedLength;
+    private BlockScanner scanner;
+
+    /**
+     * Decompresses and scans blocks, with buffers, codec and parser owned by one thread.
+     */
+    private final class BlockScanner {
+        final ByteBuffer compressed = ByteBuffer.allocate(maxCompressedLength);
+        final byte[] raw = new byte[maxUncompressedLength];
+        final BlockCodec codec = codecFactory.get();
+        final FixParser fixParser = new FixParser();
+
+        long scan(BlockMetadata block, ArchiveQuery query, ArchiveMessageHandler handler) {
+            compressed.clear().limit(block.compressedLength);
+            try {
+                long position = block.fileOffset;
+                while (compressed.hasRemaining()) {
+                    int read = channel.read(compressed, position);
+                    if (read < 0) throw new IOException("Archive truncated");
+                    position += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int length = codec.decompress(compressed.array(), 0, block.compressedLength, raw, 0);
+
+            long matched = 0;
+            int offset = 0;
+            while (offset < length) {
+                int messageLength = MessageFramer.frameLength(raw, offset, length - offset);
+                if (messageLength <= 0) {
+                    throw new IllegalStateException("Corrupted block at offset " + block.fileOffset);
+                }
+                fixParser.parse(raw, offset, messageLength);
+                if (query.matches(raw, fixParser)) {
+                    handler.onMessage(raw, offset, messageLength, fixParser);
+                    matched++;
+                }
+                offset += messageLength;
+            }
+            return matched;
+        }
+    }
+
+    /**
+     * Opens an archive compressed with {@link DeflateCodec}.
+     *
+     * @param path The archive file.
+     * @throws IOException if the file cannot be read or is not an archive.
+     */
+    public ArchiveReader(Path path) throws IOException {
+        this(path, DeflateCodec::new);
+    }
+
+    /**
+     * Opens an archive.
+     *
+     * @param path         The archive file.
+     * @param codecFactory Creates a codec for every scanning thread, must match the writer's codec.
+     * @throws IOException if the file cannot be read or is not an archive.
+     */
+    public ArchiveReader(Path path, Supplier<BlockCodec> codecFactory) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.codecFactory = codecFactory;
+        try {
+            long size = channel.size();
+            if (size < ArchiveWriter.FOOTER_LENGTH) {
+                throw new IOException("Not an archive, file too small");
+            }
+            byte[] footer = readFully(size - ArchiveWriter.FOOTER_LENGTH, ArchiveWriter.FOOTER_LENGTH);
+            if (ByteUtils.readBinaryInt(footer, 12) != ArchiveWriter.MAGIC) {
+                throw new IOException("Not an archive, or archive was not closed");
+            }
+            long indexOffset = ByteUtils.readBinaryLong(footer, 0);
+            int blockCount = ByteUtils.readBinaryInt(footer, 8);
+            byte[] index = readFully(indexOffset, blockCount * BlockMetadata.INDEX_ENTRY_LENGTH);
+
+            this.blocks = new BlockMetadata[blockCount];
+            int maxCompressed = 0;
+            int maxUncompressed = 0;
+            for (int i = 0; i < blockCount; i++) {
+                blocks[i] = new BlockMetadata();
+                blocks[i].readFrom(index, i * BlockMetadata.INDEX_ENTRY_LENGTH);
+                maxCompressed = Math.max(maxCompressed, blocks[i].compressedLength);
+                maxUncompressed = Math.max(maxUncompressed, blocks[i].uncompressedLength);
+            }
+            this.maxCompressedLength = maxCompressed;
+            this.maxUncompressedLength = maxUncompressed;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private byte[] readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Archive truncated");
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Returns the number of blocks in the archive.
+     *
+     * @return The number of blocks.
+     */
+    public int getBlockCount() {
+        return blocks.length;
+    }
+
+    /**
+     * Returns the metadata of a block.
+     *
+     * @param block The block index.
+     * @return The block metadata.
+     */
+    public BlockMetadata getBlock(int block) {
+        return blocks[block];
+    }
+
+    /**
+     * Scans the archive on the calling thread, in file order.
+     *
+     * @param query   The messages to select.
+     * @param handler The handler receiving matching messages.
+     * @return The number of matching messages.
+     */
+    public long scan(ArchiveQuery query, ArchiveMessageHandler handler) {
+        if (scanner == null) {
+            scanner = new BlockScanner();
+        }
+        long matched = 0;
+        for (BlockMetadata block : blocks) {
+            if (query.mayMatch(block)) {
+                matched += scanner.scan(block, query, handler);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Scans the archive with several threads, each decompressing whole blocks.
+     * Messages are delivered concurrently and not in file order.
+     *
+     * @param query   The messages to select.
+     * @param handler The thread safe handler receiving matching messages.
+     * @param threads The number of threads.
+     * @return The number of matching messages.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public long scan(ArchiveQuery query, ArchiveMessageHandler handler, int threads) throws InterruptedException {
+        AtomicInteger nextBlock = new AtomicInteger();
+        AtomicLong matched = new AtomicLong();
+        Throwable[] failure = new Throwable[1];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                BlockScanner threadScanner = new BlockScanner();
+                try {
+                    int block;
+                    while ((block = nextBlock.getAndIncrement()) < blocks.length) {
+                        if (query.mayMatch(blocks[block])) {
+                            matched.addAndGet(threadScanner.scan(blocks[block], query, handler));
+                        }
+                    }
+                } finally {
+                    threadScanner.codec.close();
+                }
+            }, "archive-reader-" + t);
+            workers[t].setUncaughtExceptionHandler((thread, e) -> {
+                synchronized (failure) {
+                    failure[0] = e;
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        synchronized (failure) {
+            if (failure[0] instanceof RuntimeException) throw (RuntimeException) failure[0];
+            if (failure[0] != null) throw new RuntimeException(failure[0]);
+        }
+        return matched.get();
+    }
+
+    /**
+     * Closes the archive file and the codec of sequential scans.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (scanner != null) {
+            scanner.codec.close();
+            scanner = null;
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,232 @@
+package com.parser.archive;
+
+import com.parser.FixParser;
+import com.parser.utils.ByteUtils;
+import com.parser.utils.MessageFramer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Writes FIX messages to a block compressed archive.
+ * Messages are appended to a block until it reaches the configured size; full blocks are compressed
+ * on a pool of threads while the next block fills, and written to the file in order.
+ *
+ * <pre>
+ * | block 0 | block 1 | ... | index: one entry per block | indexOffset (8) | blockCount (4) | magic (4) |
+ * </pre>
+ *
+ * The index is written when the writer is closed, an archive that was not closed cannot be read.
+ */
+public class ArchiveWriter implements Closeable {
+    static final int FOOTER_LENGTH = 16;
+    static final int MAGIC = 0x46495841; // "FIXA"
+
+    private final FileChannel channel;
+    private final ExecutorService executor;
+    private final FixParser fixParser = new FixParser();
+    private final ArrayDeque<BlockJob> freeJobs = new ArrayDeque<>();
+    private final ArrayDeque<BlockJob> pendingJobs = new ArrayDeque<>();
+    private final BlockJob[] jobs;
+    private final int blockSize;
+    private BlockJob current;
+    private BlockMetadata[] index = new BlockMetadata[64];
+    private int blockCount;
+    private long fileOffset;
+    private boolean closed;
+
+    /**
+     * A block being filled or compressed, with its own buffers and codec.
+     */
+    private static final class BlockJob {
+        final byte[] raw;
+        final byte[] compressed;
+        final BlockCodec codec;
+        final BlockMetadata metadata = new BlockMetadata();
+        Future<?> future;
+
+        BlockJob(int blockSize, BlockCodec codec) {
+            this.raw = new byte[blockSize];
+            this.compressed = new byte[codec.maxCompressedLength(blockSize)];
+            this.codec = codec;
+        }
+
+        void compress() {
+            metadata.compressedLength = codec.compress(raw, 0, metadata.uncompressedLength, compressed, 0);
+        }
+    }
+
+    /**
+     * Constructs a new writer compressing with {@link DeflateCodec}.
+     *
+     * @param path      The archive file, created or truncated.
+     * @param blockSize The maximum uncompressed size of a block, and of a message.
+     * @param threads   The number of compression threads.
+     * @throws IOException if the file cannot be opened.
+     */
+    public ArchiveWriter(Path path, int blockSize, int threads) throws IOException {
+        this(path, blockSize, threads, DeflateCodec::new);
+    }
+
+    /**
+     * Constructs a new writer.
+     *
+     * @param path         The archive file, created or truncated.
+     * @param blockSize    The maximum uncompressed size of a block, and of a message.
+     * @param threads      The number of compression threads.
+     * @param codecFactory Creates a codec for every block buffer.
+     * @throws IOException if the file cannot be opened.
+     */
+    public ArchiveWriter(Path path, int blockSize, int threads, Supplier<BlockCodec> codecFactory) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.blockSize = blockSize;
+        // one block per thread being compressed, plus the one being filled
+        this.jobs = new BlockJob[threads + 1];
+        for (int i = 0; i <= threads; i++) {
+            jobs[i] = new BlockJob(blockSize, codecFactory.get());
+            freeJobs.add(jobs[i]);
+        }
+        this.current = freeJobs.poll();
+    }
+
+    /**
+     * Appends a single framed FIX message.
+     *
+     * @param data   The byte array holding the message.
+     * @param offset The offset of the message.
+     * @param length The length of the message.
+     * @throws IOException              if writing a full block fails.
+     * @throws IllegalArgumentException if the message is larger than a block or its BodyLength does not frame it.
+     */
+    public void append(byte[] data, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Archive writer is closed");
+        }
+        if (length > blockSize) {
+            throw new IllegalArgumentException("Message larger than block size");
+        }
+        if (MessageFramer.frameLength(data, offset, length) != length) {
+            throw new IllegalArgumentException("Message is not framed by its BodyLength");
+        }
+        if (current.metadata.uncompressedLength + length > blockSize) {
+            sealBlock();
+        }
+        BlockMetadata metadata = current.metadata;
+        System.arraycopy(data, offset, current.raw, metadata.uncompressedLength, length);
+        fixParser.parse(current.raw, metadata.uncompressedLength, length);
+        metadata.record(current.raw, fixParser);
+    }
+
+    /**
+     * Hands the current block to the compression threads and takes a free block, writing out
+     * the oldest compressed block first if none is free.
+     */
+    private void sealBlock() throws IOException {
+        BlockJob job = current;
+        job.future = executor.submit(job::compress);
+        pendingJobs.add(job);
+        current = freeJobs.poll();
+        if (current == null) {
+            current = pendingJobs.poll();
+            writeBlock(current);
+        }
+        current.metadata.clear();
+    }
+
+    /**
+     * Waits for a block to be compressed and writes it along with its index entry.
+     */
+    private void writeBlock(BlockJob job) throws IOException {
+        try {
+            job.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing block", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Block compression failed", e.getCause());
+        }
+        BlockMetadata metadata = job.metadata;
+        metadata.fileOffset = fileOffset;
+        writeFully(ByteBuffer.wrap(job.compressed, 0, metadata.compressedLength));
+        fileOffset += metadata.compressedLength;
+
+        if (blockCount == index.length) {
+            index = Arrays.copyOf(index, blockCount * 2);
+        }
+        BlockMetadata entry = new BlockMetadata();
+        entry.copyFrom(metadata);
+        index[blockCount++] = entry;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of blocks written so far.
+     *
+     * @return The number of blocks.
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Writes the last block, the index and the footer, then closes the file and the codecs.
+     *
+     * @throws IOException if writing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (current.metadata.messageCount > 0) {
+                current.future = executor.submit(current::compress);
+                pendingJobs.add(current);
+            }
+            BlockJob job;
+            while ((job = pendingJobs.poll()) != null) {
+                writeBlock(job);
+            }
+
+            byte[] trailer = new byte[blockCount * BlockMetadata.INDEX_ENTRY_LENGTH + FOOTER_LENGTH];
+            for (int i = 0; i < blockCount; i++) {
+                index[i].writeTo(trailer, i * BlockMetadata.INDEX_ENTRY_LENGTH);
+            }
+            int footer = blockCount * BlockMetadata.INDEX_ENTRY_LENGTH;
+            ByteUtils.writeBinaryLong(fileOffset, trailer, footer);
+            ByteUtils.writeBinaryInt(blockCount, trailer, footer + 8);
+            ByteUtils.writeBinaryInt(MAGIC, trailer, footer + 12);
+            writeFully(ByteBuffer.wrap(trailer));
+        } finally {
+            executor.shutdown();
+            try {
+                // codecs of blocks still compressing after a failure are only closed once they are done
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (BlockJob job : jobs) {
+                job.codec.close();
+            }
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.parser.archive;
+
+/**
+ * Compression codec applied to every block of an archive.
+ * Implementations may keep state between calls and are used by a single thread at a time;
+ * parallel writers and readers create one codec per thread, and close it once done.
+ */
+public interface BlockCodec extends AutoCloseable {
+
+    /**
+     * Compresses a block.
+     *
+     * @param src        The uncompressed bytes.
+     * @param srcOffset  The offset of the first byte.
+     * @param srcLength  The number of bytes to compress.
+     * @param dest       The destination buffer.
+     * @param destOffset The offset in the destination buffer.
+     * @return The number of compressed bytes written.
+     * @throws IllegalArgumentException if the destination buffer is too small.
+     */
+    int compress(byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset);
+
+    /**
+     * Decompresses a block.
+     *
+     * @param src        The compressed bytes.
+     * @param srcOffset  The offset of the first byte.
+     * @param srcLength  The number of compressed bytes.
+     * @param dest       The destination buffer.
+     * @param destOffset The offset in the destination buffer.
+     * @return The number of uncompressed bytes written.
+     * @throws IllegalArgumentException if the bytes are corrupted or the destination buffer is too small.
+     */
+    int decompress(byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset);
+
+    /**
+     * Returns the largest compressed size of a block of the given size, to size buffers.
+     *
+     * @param uncompressedLength The size of the uncompressed block.
+     * @return The maximum compressed size.
+     */
+    int maxCompressedLength(int uncompressedLength);
+
+    /**
+     * Releases the resources held by the codec, e.g. native compression state. The codec cannot be used afterwards.
+     */
+    @Override
+    default void close() {
+    }
+}
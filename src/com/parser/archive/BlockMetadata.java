@@ -0,0 +1,228 @@
+package com.parser.archive;
+
+import com.parser.FixParser;
+import com.parser.utils.ByteUtils;
+
+/**
+ * Summary of the messages of an archive block, used to skip blocks that cannot match a query:
+ * MsgSeqNum (34) range, SendingTime (52) range and a bitmap of the MsgTypes (35) present.
+ */
+public class BlockMetadata {
+    static final int MSG_SEQ_NUM = 34;
+    static final int MSG_TYPE = 35;
+    static final int SENDING_TIME = 52;
+    /** Length of a block entry in the archive index. */
+    static final int INDEX_ENTRY_LENGTH = 60;
+
+    /** Bit used for every MsgType longer than one character. */
+    static final int OTHER_MSG_TYPE_BIT = 63;
+
+    long fileOffset;
+    int compressedLength;
+    int uncompressedLength;
+    int messageCount;
+    long minSeqNum;
+    long maxSeqNum;
+    long minTime;
+    long maxTime;
+    long msgTypes;
+
+    BlockMetadata() {
+        clear();
+    }
+
+    /**
+     * Resets the summary before a new block is filled.
+     */
+    void clear() {
+        fileOffset = 0L;
+        compressedLength = 0;
+        uncompressedLength = 0;
+        messageCount = 0;
+        minSeqNum = Long.MAX_VALUE;
+        maxSeqNum = Long.MIN_VALUE;
+        minTime = Long.MAX_VALUE;
+        maxTime = Long.MIN_VALUE;
+        msgTypes = 0L;
+    }
+
+    /**
+     * Adds a parsed message to the summary.
+     *
+     * @param data      The byte array holding the message.
+     * @param fixParser The parser holding the parsed message.
+     */
+    void record(byte[] data, FixParser fixParser) {
+        // read every value first, so that a malformed one leaves the metadata untouched
+        boolean hasSeqNum = !fixParser.fieldDoesNotExists(MSG_SEQ_NUM);
+        long seqNum = hasSeqNum ? fixParser.getLong(data, MSG_SEQ_NUM) : 0;
+        boolean hasTime = !fixParser.fieldDoesNotExists(SENDING_TIME);
+        long time = hasTime
+                ? ByteUtils.readTimestampMillis(data, fixParser.getOffset(SENDING_TIME), fixParser.getLength(SENDING_TIME))
+                : 0;
+
+        messageCount++;
+        uncompressedLength += fixParser.getMessageLength();
+        if (hasSeqNum) {
+            minSeqNum = Math.min(minSeqNum, seqNum);
+            maxSeqNum = Math.max(maxSeqNum, seqNum);
+        }
+        if (hasTime) {
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+        }
+        if (!fixParser.fieldDoesNotExists(MSG_TYPE)) {
+            msgTypes |= 1L << msgTypeBit(data, fixParser.getOffset(MSG_TYPE), fixParser.getLength(MSG_TYPE));
+        }
+    }
+
+    /**
+     * Copies the summary of another block.
+     */
+    void copyFrom(BlockMetadata other) {
+        fileOffset = other.fileOffset;
+        compressedLength = other.compressedLength;
+        uncompressedLength = other.uncompressedLength;
+        messageCount = other.messageCount;
+        minSeqNum = other.minSeqNum;
+        maxSeqNum = other.maxSeqNum;
+        minTime = other.minTime;
+        maxTime = other.maxTime;
+        msgTypes = other.msgTypes;
+    }
+
+    /**
+     * Writes the summary as an archive index entry.
+     *
+     * @param dest   The destination buffer.
+     * @param offset The offset of the entry.
+     */
+    void writeTo(byte[] dest, int offset) {
+        ByteUtils.writeBinaryLong(fileOffset, dest, offset);
+        ByteUtils.writeBinaryInt(compressedLength, dest, offset + 8);
+        ByteUtils.writeBinaryInt(uncompressedLength, dest, offset + 12);
+        ByteUtils.writeBinaryInt(messageCount, dest, offset + 16);
+        ByteUtils.writeBinaryLong(minSeqNum, dest, offset + 20);
+        ByteUtils.writeBinaryLong(maxSeqNum, dest, offset + 28);
+        ByteUtils.writeBinaryLong(minTime, dest, offset + 36);
+        ByteUtils.writeBinaryLong(maxTime, dest, offset + 44);
+        ByteUtils.writeBinaryLong(msgTypes, dest, offset + 52);
+    }
+
+    /**
+     * Reads the summary from an archive index entry.
+     *
+     * @param src    The buffer holding the entry.
+     * @param offset The offset of the entry.
+     */
+    void readFrom(byte[] src, int offset) {
+        fileOffset = ByteUtils.readBinaryLong(src, offset);
+        compressedLength = ByteUtils.readBinaryInt(src, offset + 8);
+        uncompressedLength = ByteUtils.readBinaryInt(src, offset + 12);
+        messageCount = ByteUtils.readBinaryInt(src, offset + 16);
+        minSeqNum = ByteUtils.readBinaryLong(src, offset + 20);
+        maxSeqNum = ByteUtils.readBinaryLong(src, offset + 28);
+        minTime = ByteUtils.readBinaryLong(src, offset + 36);
+        maxTime = ByteUtils.readBinaryLong(src, offset + 44);
+        msgTypes = ByteUtils.readBinaryLong(src, offset + 52);
+    }
+
+    /**
+     * Maps a MsgType to its bit in the bitmap: one bit per single character type
+     * ('0'-'9', 'A'-'Z', 'a'-'z') and a shared bit for longer types.
+     *
+     * @param data   The byte array holding the MsgType.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     * @return The bit index.
+     */
+    static int msgTypeBit(byte[] data, int offset, int length) {
+        if (length != 1) return OTHER_MSG_TYPE_BIT;
+        byte b = data[offset];
+        if (b >= '0' && b <= '9') return b - '0';
+        if (b >= 'A' && b <= 'Z') return 10 + b - 'A';
+        if (b >= 'a' && b <= 'z') return 36 + b - 'a';
+        return OTHER_MSG_TYPE_BIT;
+    }
+
+    /**
+     * Returns the offset of the compressed block in the archive file.
+     *
+     * @return The file offset.
+     */
+    public long getFileOffset() {
+        return fileOffset;
+    }
+
+    /**
+     * Returns the compressed size of the block.
+     *
+     * @return The size in bytes.
+     */
+    public int getCompressedLength() {
+        return compressedLength;
+    }
+
+    /**
+     * Returns the uncompressed size of the block.
+     *
+     * @return The size in bytes.
+     */
+    public int getUncompressedLength() {
+        return uncompressedLength;
+    }
+
+    /**
+     * Returns the number of messages in the block.
+     *
+     * @return The message count.
+     */
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * Returns the lowest MsgSeqNum of the block, Long.MAX_VALUE if none had one.
+     *
+     * @return The lowest sequence number.
+     */
+    public long getMinSeqNum() {
+        return minSeqNum;
+    }
+
+    /**
+     * Returns the highest MsgSeqNum of the block, Long.MIN_VALUE if none had one.
+     *
+     * @return The highest sequence number.
+     */
+    public long getMaxSeqNum() {
+        return maxSeqNum;
+    }
+
+    /**
+     * Returns the earliest SendingTime of the block in epoch milliseconds, Long.MAX_VALUE if none had one.
+     *
+     * @return The earliest time.
+     */
+    public long getMinTime() {
+        return minTime;
+    }
+
+    /**
+     * Returns the latest SendingTime of the block in epoch milliseconds, Long.MIN_VALUE if none had one.
+     *
+     * @return The latest time.
+     */
+    public long getMaxTime() {
+        return maxTime;
+    }
+
+    /**
+     * Returns the bitmap of MsgTypes present in the block.
+     *
+     * @return The MsgType bitmap.
+     */
+    public long getMsgTypes() {
+        return msgTypes;
+    }
+}
@@ -0,0 +1,71 @@
+package com.parser.archive;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link BlockCodec} based on {@link Deflater} and {@link Inflater}, reused from block to block.
+ * Their native memory is released by {@link #close()}.
+ */
+public class DeflateCodec implements BlockCodec {
+    private final Deflater deflater;
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * Constructs a new codec with the default compression level.
+     */
+    public DeflateCodec() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructs a new codec.
+     *
+     * @param level The compression level, from 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public DeflateCodec(int level) {
+        this.deflater = new Deflater(level);
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset) {
+        deflater.reset();
+        deflater.setInput(src, srcOffset, srcLength);
+        deflater.finish();
+        int written = deflater.deflate(dest, destOffset, dest.length - destOffset);
+        if (!deflater.finished()) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        return written;
+    }
+
+    @Override
+    public int decompress(byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset) {
+        inflater.reset();
+        inflater.setInput(src, srcOffset, srcLength);
+        try {
+            int written = inflater.inflate(dest, destOffset, dest.length - destOffset);
+            if (!inflater.finished()) {
+                throw new IllegalArgumentException("Destination buffer too small or block truncated");
+            }
+            return written;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted block", e);
+        }
+    }
+
+    @Override
+    public int maxCompressedLength(int uncompressedLength) {
+        // zlib's deflateBound: incompressible data falls back to stored blocks, which add 5 bytes per 16KB,
+        // plus the zlib header and trailer
+        return uncompressedLength + (uncompressedLength >>> 12) + (uncompressedLength >>> 14)
+                + (uncompressedLength >>> 25) + 13;
+    }
+
+    @Override
+    public void close() {
+        deflater.end();
+        inflater.end();
+    }
+}
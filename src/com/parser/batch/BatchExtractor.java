@@ -0,0 +1,133 @@
+package com.parser.batch;
+
+/**
+ * Extracts the columns of a {@link ColumnSpec} from many messages into a {@link ColumnBatch}.
+ * Each message is scanned once; values of wanted tags are converted straight into the column arrays
+ * and every other field is skipped without being indexed. Checksums are not validated, this is
+ * meant for bulk reading of already accepted messages such as logs.
+ */
+public class BatchExtractor {
+    private static final byte SOH = 0x01;
+    private static final byte EQUALS = '=';
+    private static final int CHECKSUM = 10;
+
+    private final ColumnSpec spec;
+
+    /**
+     * Constructs a new extractor for the given spec.
+     *
+     * @param spec The columns to extract.
+     */
+    public BatchExtractor(ColumnSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Extracts one row per message until the messages are exhausted or the batch is full.
+     *
+     * @param messages The messages, each starting at position 0 of its array.
+     * @param from     The index of the first message to extract.
+     * @param count    The number of messages to extract.
+     * @param batch    The batch to append rows to.
+     * @return The number of messages extracted.
+     */
+    public int extract(byte[][] messages, int from, int count, ColumnBatch batch) {
+        checkBatch(batch);
+        int extracted = 0;
+        while (extracted < count && !batch.isFull()) {
+            byte[] message = messages[from + extracted];
+            extractRow(message, 0, message.length, batch, false);
+            extracted++;
+        }
+        return extracted;
+    }
+
+    /**
+     * Extracts one row per message from a buffer of consecutive messages, until the buffer is
+     * exhausted or the batch is full. Each message ends with its CheckSum (10) field; line breaks
+     * between messages are skipped. A trailing incomplete message is left unconsumed.
+     *
+     * @param buffer The buffer holding the messages.
+     * @param offset The offset of the first message.
+     * @param length The number of bytes available.
+     * @param batch  The batch to append rows to.
+     * @return The number of bytes consumed, the offset of the next message is offset plus this value.
+     */
+    public int extract(byte[] buffer, int offset, int length, ColumnBatch batch) {
+        checkBatch(batch);
+        int end = offset + length;
+        int position = offset;
+        while (position < end && !batch.isFull()) {
+            while (position < end && (buffer[position] == '\n' || buffer[position] == '\r')) {
+                position++;
+            }
+            if (position == end) break;
+            int next = extractRow(buffer, position, end, batch, true);
+            if (next < 0) break;
+            position = next;
+        }
+        return position - offset;
+    }
+
+    private void checkBatch(ColumnBatch batch) {
+        if (batch.getSpec() != spec) {
+            throw new IllegalArgumentException("Batch was created for a different spec");
+        }
+    }
+
+    /**
+     * Scans one message and fills the next row of the batch.
+     *
+     * @param stopAtChecksum True to end the message after the CheckSum field, false to scan to the end.
+     * @return The position after the message, or -1 if the message is incomplete.
+     */
+    private int extractRow(byte[] data, int start, int end, ColumnBatch batch, boolean stopAtChecksum) {
+        int row = batch.nextRow();
+        long present = 0L;
+        int i = start;
+        while (i < end) {
+            // Accumulate the tag until '='
+            int tag = 0;
+            byte b;
+            while (i < end && (b = data[i]) != EQUALS) {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException("Invalid character in tag");
+                }
+                tag = (tag * 10) + (b - '0');
+                i++;
+            }
+            i++; // skip '='
+            int valueStart = i;
+            // Find SOH to get the value
+            while (i < end && data[i] != SOH)
+                i++;
+            if (i >= end && stopAtChecksum) {
+                return -1;
+            }
+            int column = spec.getColumn(tag);
+            if (column >= 0) {
+                setValue(data, valueStart, i - valueStart, column, row, batch);
+                present |= 1L << column;
+            }
+            i++; // skip SOH
+            if (tag == CHECKSUM && stopAtChecksum) {
+                batch.commitRow(present);
+                return i;
+            }
+        }
+        if (stopAtChecksum) {
+            return -1;
+        }
+        batch.commitRow(present);
+        return i;
+    }
+
+    private void setValue(byte[] data, int offset, int length, int column, int row, ColumnBatch batch) {
+        long value = spec.readValue(column, data, offset, length);
+        if (spec.getType(column).isLongColumn()) {
+            batch.setLong(column, row, value);
+        } else {
+            batch.setInt(column, row, (int) value);
+        }
+    }
+}
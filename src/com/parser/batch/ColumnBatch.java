@@ -0,0 +1,176 @@
+package com.parser.batch;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for the fields extracted from a batch of messages.
+ * Every column is a preallocated primitive array indexed by row, with a null bitmap marking
+ * rows where the tag was absent. Absent values are stored as 0 so columns can be aggregated
+ * without branching on the bitmap.
+ */
+public class ColumnBatch {
+    private final ColumnSpec spec;
+    private final int capacity;
+    private final long[][] longColumns;
+    private final int[][] intColumns;
+    private final long[][] nullBitmaps;
+    private int size;
+
+    /**
+     * Constructs a new batch for the given spec.
+     * Columns must not be added to the spec afterwards.
+     *
+     * @param spec     The columns to hold.
+     * @param capacity The maximum number of rows.
+     */
+    public ColumnBatch(ColumnSpec spec, int capacity) {
+        this.spec = spec;
+        this.capacity = capacity;
+        int columnCount = spec.getColumnCount();
+        this.longColumns = new long[columnCount][];
+        this.intColumns = new int[columnCount][];
+        this.nullBitmaps = new long[columnCount][(capacity + 63) >>> 6];
+        for (int column = 0; column < columnCount; column++) {
+            if (spec.getType(column).isLongColumn()) {
+                longColumns[column] = new long[capacity];
+            } else {
+                intColumns[column] = new int[capacity];
+            }
+        }
+    }
+
+    /**
+     * Returns the spec of this batch.
+     *
+     * @return The column spec.
+     */
+    public ColumnSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Returns the number of rows filled.
+     *
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of rows.
+     *
+     * @return The capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Checks if no more rows can be added.
+     *
+     * @return True if the batch is full.
+     */
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Removes all rows, keeping the allocated columns.
+     */
+    public void clear() {
+        for (long[] bitmap : nullBitmaps) {
+            Arrays.fill(bitmap, 0L);
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the long array backing a LONG, DECIMAL or TIMESTAMP column.
+     * Only the first {@link #size()} entries are valid.
+     *
+     * @param column The column index.
+     * @return The column values.
+     */
+    public long[] getLongColumn(int column) {
+        long[] values = longColumns[column];
+        if (values == null) {
+            throw new IllegalArgumentException("Column " + column + " is not a long column");
+        }
+        return values;
+    }
+
+    /**
+     * Returns the int array backing an INT, CHAR or ID column.
+     * Only the first {@link #size()} entries are valid.
+     *
+     * @param column The column index.
+     * @return The column values.
+     */
+    public int[] getIntColumn(int column) {
+        int[] values = intColumns[column];
+        if (values == null) {
+            throw new IllegalArgumentException("Column " + column + " is not an int column");
+        }
+        return values;
+    }
+
+    /**
+     * Returns the null bitmap of a column, bit (row % 64) of word (row / 64) is set when the tag was absent.
+     *
+     * @param column The column index.
+     * @return The null bitmap.
+     */
+    public long[] getNullBitmap(int column) {
+        return nullBitmaps[column];
+    }
+
+    /**
+     * Checks if the tag of a column was absent in a row.
+     *
+     * @param column The column index.
+     * @param row    The row index.
+     * @return True if the value is null.
+     */
+    public boolean isNull(int column, int row) {
+        return (nullBitmaps[column][row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Returns the row being filled, the next one after the filled rows.
+     */
+    int nextRow() {
+        return size;
+    }
+
+    /**
+     * Completes the row being filled, marking columns not in the presence mask as null.
+     *
+     * @param presentColumns Bit per column set when its tag was found in the message.
+     */
+    void commitRow(long presentColumns) {
+        int row = size;
+        int columnCount = spec.getColumnCount();
+        for (int column = 0; column < columnCount; column++) {
+            if ((presentColumns & (1L << column)) == 0) {
+                nullBitmaps[column][row >>> 6] |= 1L << row;
+                if (longColumns[column] != null) {
+                    longColumns[column][row] = 0L;
+                } else {
+                    intColumns[column][row] = 0;
+                }
+            } else {
+                nullBitmaps[column][row >>> 6] &= ~(1L << row);
+            }
+        }
+        size++;
+    }
+
+    void setLong(int column, int row, long value) {
+        longColumns[column][row] = value;
+    }
+
+    void setInt(int column, int row, int value) {
+        intColumns[column][row] = value;
+    }
+}
@@ -0,0 +1,201 @@
+package com.parser.batch;
+
+import com.parser.utils.ByteInterner;
+import com.parser.utils.ByteUtils;
+
+import java.util.Arrays;
+
+/**
+ * Describes the fields to extract into a {@link ColumnBatch}, one column per tag, in the order added.
+ * Tags are resolved to columns through a direct lookup table, so they are expected to be
+ * reasonably small (below {@link #MAX_TAG}).
+ */
+public class ColumnSpec {
+    /** Maximum number of columns, bounded by the per row presence mask. */
+    public static final int MAX_COLUMNS = 64;
+    /** Largest tag that can be extracted. */
+    public static final int MAX_TAG = 9999;
+
+    private final int[] tags = new int[MAX_COLUMNS];
+    private final ColumnType[] types = new ColumnType[MAX_COLUMNS];
+    private final int[] scales = new int[MAX_COLUMNS];
+    private final ByteInterner[] interners = new ByteInterner[MAX_COLUMNS];
+    private int[] columnsByTag = new int[0];
+    private int columnCount;
+
+    /**
+     * Adds an int column.
+     *
+     * @param tag The FIX tag.
+     * @return This spec.
+     */
+    public ColumnSpec addInt(int tag) {
+        return add(tag, ColumnType.INT, 0, null);
+    }
+
+    /**
+     * Adds a char column holding the first byte of the value.
+     *
+     * @param tag The FIX tag.
+     * @return This spec.
+     */
+    public ColumnSpec addChar(int tag) {
+        return add(tag, ColumnType.CHAR, 0, null);
+    }
+
+    /**
+     * Adds a column holding interned ids of the values.
+     *
+     * @param tag      The FIX tag.
+     * @param interner The interner assigning the ids, may be shared between columns and specs.
+     * @return This spec.
+     */
+    public ColumnSpec addId(int tag, ByteInterner interner) {
+        return add(tag, ColumnType.ID, 0, interner);
+    }
+
+    /**
+     * Adds a long column.
+     *
+     * @param tag The FIX tag.
+     * @return This spec.
+     */
+    public ColumnSpec addLong(int tag) {
+        return add(tag, ColumnType.LONG, 0, null);
+    }
+
+    /**
+     * Adds a decimal column holding values scaled by 10^scale.
+     *
+     * @param tag   The FIX tag.
+     * @param scale The number of implied decimal places.
+     * @return This spec.
+     */
+    public ColumnSpec addDecimal(int tag, int scale) {
+        if (scale < 0 || scale > 18) {
+            throw new IllegalArgumentException("Scale out of range: " + scale);
+        }
+        return add(tag, ColumnType.DECIMAL, scale, null);
+    }
+
+    /**
+     * Adds a column holding UTCTimestamps as epoch milliseconds.
+     *
+     * @param tag The FIX tag.
+     * @return This spec.
+     */
+    public ColumnSpec addTimestamp(int tag) {
+        return add(tag, ColumnType.TIMESTAMP, 0, null);
+    }
+
+    private ColumnSpec add(int tag, ColumnType type, int scale, ByteInterner interner) {
+        if (columnCount == MAX_COLUMNS) {
+            throw new RuntimeException("Cannot add more than " + MAX_COLUMNS + " columns");
+        }
+        if (tag <= 0 || tag > MAX_TAG) {
+            throw new IllegalArgumentException("Tag out of range: " + tag);
+        }
+        if (getColumn(tag) >= 0) {
+            throw new IllegalArgumentException("Tag already defined in spec: " + tag);
+        }
+        if (tag >= columnsByTag.length) {
+            int previousLength = columnsByTag.length;
+            columnsByTag = Arrays.copyOf(columnsByTag, tag + 1);
+            Arrays.fill(columnsByTag, previousLength, columnsByTag.length, -1);
+        }
+        tags[columnCount] = tag;
+        types[columnCount] = type;
+        scales[columnCount] = scale;
+        interners[columnCount] = interner;
+        columnsByTag[tag] = columnCount;
+        columnCount++;
+        return this;
+    }
+
+    /**
+     * Retrieves the column of the given tag.
+     *
+     * @param tag The FIX tag.
+     * @return The column index, or -1 if the tag is not extracted.
+     */
+    public int getColumn(int tag) {
+        return tag >= 0 && tag < columnsByTag.length ? columnsByTag[tag] : -1;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Returns the tag of a column.
+     *
+     * @param column The column index.
+     * @return The FIX tag.
+     */
+    public int getTag(int column) {
+        return tags[column];
+    }
+
+    /**
+     * Returns the type of a column.
+     *
+     * @param column The column index.
+     * @return The column type.
+     */
+    public ColumnType getType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Returns the scale of a DECIMAL column.
+     *
+     * @param column The column index.
+     * @return The number of implied decimal places.
+     */
+    public int getScale(int column) {
+        return scales[column];
+    }
+
+    /**
+     * Returns the interner of an ID column.
+     *
+     * @param column The column index.
+     * @return The interner, or null for other column types.
+     */
+    public ByteInterner getInterner(int column) {
+        return interners[column];
+    }
+
+    /**
+     * Converts a raw value to the primitive representation of a column.
+     *
+     * @param column The column index.
+     * @param data   The byte array holding the value.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     * @return The value, to be narrowed to int for int columns.
+     */
+    public long readValue(int column, byte[] data, int offset, int length) {
+        switch (types[column]) {
+            case INT:
+                return ByteUtils.readInt(data, offset, length);
+            case CHAR:
+                return length > 0 ? data[offset] : 0;
+            case ID:
+                return interners[column].intern(data, offset, length);
+            case LONG:
+                return ByteUtils.readLong(data, offset, length);
+            case DECIMAL:
+                return ByteUtils.readScaledLong(data, offset, length, scales[column]);
+            case TIMESTAMP:
+                return ByteUtils.readTimestampMillis(data, offset, length);
+            default:
+                throw new RuntimeException("Unsupported column type: " + types[column]);
+        }
+    }
+}
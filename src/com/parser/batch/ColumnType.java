@@ -0,0 +1,34 @@
+package com.parser.batch;
+
+/**
+ * Primitive representations of a column in a {@link ColumnBatch}.
+ */
+public enum ColumnType {
+    /** int column holding the value of an integer field. */
+    INT(false),
+    /** int column holding the first byte of a char field, e.g. Side. */
+    CHAR(false),
+    /** int column holding the id of the value in a {@link com.parser.utils.ByteInterner}. */
+    ID(false),
+    /** long column holding the value of an integer field. */
+    LONG(true),
+    /** long column holding a decimal value scaled by 10^scale. */
+    DECIMAL(true),
+    /** long column holding a UTCTimestamp in epoch milliseconds. */
+    TIMESTAMP(true);
+
+    private final boolean longColumn;
+
+    ColumnType(boolean longColumn) {
+        this.longColumn = longColumn;
+    }
+
+    /**
+     * Checks if the column is stored in a long array rather than an int array.
+     *
+     * @return True for long columns.
+     */
+    public boolean isLongColumn() {
+        return longColumn;
+    }
+}
@@ -0,0 +1,188 @@
+package com.parser.binary;
+
+import com.parser.utils.ByteUtils;
+
+/**
+ * Zero-copy flyweight over a binary record written by {@link BinaryTranscoder}.
+ * The reader is wrapped around a buffer and offset and reads fields at their fixed offsets,
+ * so every access is constant time and involves no text parsing.
+ * One instance can be re-wrapped over any number of records.
+ */
+public class BinaryRecordReader {
+    private final BinaryTranscoder transcoder;
+    private byte[] buffer;
+    private int offset;
+    private BinarySchema schema;
+
+    /**
+     * Constructs a new reader resolving schemas through the given transcoder.
+     *
+     * @param transcoder The transcoder the schemas are registered with.
+     */
+    public BinaryRecordReader(BinaryTranscoder transcoder) {
+        this.transcoder = transcoder;
+    }
+
+    /**
+     * Wraps the reader around the record at the given offset.
+     *
+     * @param buffer The buffer holding the record.
+     * @param offset The offset of the record.
+     * @return This reader.
+     * @throws RuntimeException if the record's schema is not registered.
+     */
+    public BinaryRecordReader wrap(byte[] buffer, int offset) {
+        BinarySchema recordSchema = transcoder.getSchema(ByteUtils.readBinaryShort(buffer, offset));
+        if (recordSchema == null) {
+            throw new RuntimeException("Unknown schema id in record");
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.schema = recordSchema;
+        return this;
+    }
+
+    /**
+     * Returns the schema of the wrapped record.
+     *
+     * @return The schema.
+     */
+    public BinarySchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns the length of the wrapped record.
+     *
+     * @return The record length in bytes.
+     */
+    public int getRecordLength() {
+        return schema.getRecordLength();
+    }
+
+    /**
+     * Checks if the field at the given index was present in the original message.
+     *
+     * @param fieldIndex The field index within the schema.
+     * @return True if the field is present.
+     */
+    public boolean isPresent(int fieldIndex) {
+        int bits = buffer[offset + BinarySchema.SCHEMA_ID_LENGTH + (fieldIndex >>> 3)];
+        return (bits & (1 << (fieldIndex & 7))) != 0;
+    }
+
+    /**
+     * Checks if the tag was present in the original message.
+     *
+     * @param tag The FIX tag.
+     * @return True if the tag is part of the schema and was present.
+     */
+    public boolean fieldExists(int tag) {
+        int field = schema.getFieldIndex(tag);
+        return field >= 0 && isPresent(field);
+    }
+
+    /**
+     * Resolves the tag to a present field and ensures it has the expected type.
+     * Throws a RuntimeException if the tag is not found.
+     */
+    private int fieldOffset(int tag, FieldType type) {
+        int field = schema.getFieldIndex(tag);
+        if (field < 0 || !isPresent(field))
+            throw new RuntimeException("Tag not found in record");
+        if (schema.getType(field) != type)
+            throw new IllegalArgumentException("Tag " + tag + " is not of type " + type);
+        return offset + schema.getOffset(field);
+    }
+
+    /**
+     * Reads a single byte value for the specified tag.
+     *
+     * @param tag The FIX tag.
+     * @return The byte value.
+     */
+    public byte getChar(int tag) {
+        return buffer[fieldOffset(tag, FieldType.CHAR)];
+    }
+
+    /**
+     * Reads an int value for the specified tag.
+     *
+     * @param tag The FIX tag.
+     * @return The int value.
+     */
+    public int getInt(int tag) {
+        return ByteUtils.readBinaryInt(buffer, fieldOffset(tag, FieldType.INT));
+    }
+
+    /**
+     * Reads a long value for the specified tag.
+     *
+     * @param tag The FIX tag.
+     * @return The long value.
+     */
+    public long getLong(int tag) {
+        return ByteUtils.readBinaryLong(buffer, fieldOffset(tag, FieldType.LONG));
+    }
+
+    /**
+     * Reads a decimal value for the specified tag as a long scaled by the schema's scale.
+     *
+     * @param tag The FIX tag.
+     * @return The scaled value.
+     */
+    public long getDecimal(int tag) {
+        return ByteUtils.readBinaryLong(buffer, fieldOffset(tag, FieldType.DECIMAL));
+    }
+
+    /**
+     * Returns the length of a string value for the specified tag.
+     *
+     * @param tag The FIX tag.
+     * @return The number of bytes of the value.
+     */
+    public int getStringLength(int tag) {
+        return buffer[fieldOffset(tag, FieldType.STRING)] & 0xFF;
+    }
+
+    /**
+     * Returns the offset of a string value in the underlying buffer, for in place access.
+     *
+     * @param tag The FIX tag.
+     * @return The offset of the first byte of the value.
+     */
+    public int getStringOffset(int tag) {
+        return fieldOffset(tag, FieldType.STRING) + 1;
+    }
+
+    /**
+     * Copies a string value for the specified tag to a pre-allocated destination.
+     *
+     * @param tag  The FIX tag.
+     * @param dest A reusable pre-allocated byte array.
+     * @return The number of bytes copied.
+     * @throws IllegalArgumentException if the destination buffer is too small.
+     */
+    public int getString(int tag, byte[] dest) {
+        int fieldOffset = fieldOffset(tag, FieldType.STRING);
+        return ByteUtils.readBytes(buffer, fieldOffset + 1, buffer[fieldOffset] & 0xFF, dest);
+    }
+
+    /**
+     * Returns the buffer of the wrapped record.
+     *
+     * @return The underlying buffer.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the offset of the wrapped record.
+     *
+     * @return The record offset.
+     */
+    public int getOffset() {
+        return offset;
+    }
+}
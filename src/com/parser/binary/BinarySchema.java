@@ -0,0 +1,252 @@
+package com.parser.binary;
+
+import com.parser.utils.FieldLocationMap;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed layout of the binary record for a single MsgType.
+ * Fields are laid out in the order they are added, each at a fixed offset, after a 2 byte
+ * schema id and a presence bitmap with one bit per field.
+ *
+ * <pre>
+ * | schemaId (2) | presence bitmap (ceil(n/8)) | field 0 | field 1 | ... |
+ * </pre>
+ *
+ * Tag lookups are done through a {@link FieldLocationMap} storing the record offset and
+ * field index of every tag, so reading a field is a constant time operation.
+ */
+public class BinarySchema {
+    static final int SCHEMA_ID_LENGTH = 2;
+    private static final int MAX_STRING_LENGTH = 255;
+
+    private final short id;
+    private final byte[] msgType;
+    private final int maxNumberOfFields;
+    private final int[] tags;
+    private final FieldType[] types;
+    private final int[] offsets;
+    private final int[] params; // scale for DECIMAL, maximum length for STRING
+    private final FieldLocationMap fieldsByTag;
+    private int fieldCount;
+    private int fieldsLength;
+
+    /**
+     * Constructs a new schema for the given MsgType.
+     *
+     * @param id                The schema id written at the start of every record.
+     * @param msgType           The MsgType (35) this schema applies to, e.g. "8".
+     * @param maxNumberOfFields The maximum number of fields the schema can hold.
+     */
+    public BinarySchema(int id, String msgType, int maxNumberOfFields) {
+        if (id < 0 || id > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Schema id out of range: " + id);
+        }
+        this.id = (short) id;
+        this.msgType = msgType.getBytes(StandardCharsets.US_ASCII);
+        this.maxNumberOfFields = maxNumberOfFields;
+        this.tags = new int[maxNumberOfFields];
+        this.types = new FieldType[maxNumberOfFields];
+        this.offsets = new int[maxNumberOfFields];
+        this.params = new int[maxNumberOfFields];
+        // twice the fields keeps linear probing short
+        this.fieldsByTag = new FieldLocationMap(maxNumberOfFields * 2);
+    }
+
+    /**
+     * Adds a single byte field.
+     *
+     * @param tag The FIX tag.
+     * @return This schema.
+     */
+    public BinarySchema addChar(int tag) {
+        return add(tag, FieldType.CHAR, 0, FieldType.CHAR.getWidth());
+    }
+
+    /**
+     * Adds a 4 byte int field.
+     *
+     * @param tag The FIX tag.
+     * @return This schema.
+     */
+    public BinarySchema addInt(int tag) {
+        return add(tag, FieldType.INT, 0, FieldType.INT.getWidth());
+    }
+
+    /**
+     * Adds an 8 byte long field.
+     *
+     * @param tag The FIX tag.
+     * @return This schema.
+     */
+    public BinarySchema addLong(int tag) {
+        return add(tag, FieldType.LONG, 0, FieldType.LONG.getWidth());
+    }
+
+    /**
+     * Adds a decimal field stored as a long scaled by 10^scale.
+     *
+     * @param tag   The FIX tag.
+     * @param scale The number of implied decimal places.
+     * @return This schema.
+     */
+    public BinarySchema addDecimal(int tag, int scale) {
+        if (scale < 0 || scale > 18) {
+            throw new IllegalArgumentException("Scale out of range: " + scale);
+        }
+        return add(tag, FieldType.DECIMAL, scale, FieldType.DECIMAL.getWidth());
+    }
+
+    /**
+     * Adds a length prefixed string field with a fixed size slot.
+     *
+     * @param tag       The FIX tag.
+     * @param maxLength The maximum number of bytes of the value.
+     * @return This schema.
+     */
+    public BinarySchema addString(int tag, int maxLength) {
+        if (maxLength <= 0 || maxLength > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("String length out of range: " + maxLength);
+        }
+        return add(tag, FieldType.STRING, maxLength, FieldType.STRING.getWidth() + maxLength);
+    }
+
+    private BinarySchema add(int tag, FieldType type, int param, int width) {
+        if (fieldCount == maxNumberOfFields) {
+            throw new RuntimeException("Cannot add more fields, please consider increasing schema capacity");
+        }
+        if (fieldsByTag.containsKey(tag)) {
+            throw new IllegalArgumentException("Tag already defined in schema: " + tag);
+        }
+        tags[fieldCount] = tag;
+        types[fieldCount] = type;
+        offsets[fieldCount] = fieldsLength;
+        params[fieldCount] = param;
+        fieldsByTag.put(tag, fieldsLength, fieldCount);
+        fieldsLength += width;
+        fieldCount++;
+        return this;
+    }
+
+    /**
+     * Returns the schema id.
+     *
+     * @return The schema id.
+     */
+    public short getId() {
+        return id;
+    }
+
+    /**
+     * Returns the MsgType bytes this schema applies to.
+     *
+     * @return The MsgType bytes, not to be modified.
+     */
+    byte[] getMsgType() {
+        return msgType;
+    }
+
+    /**
+     * Checks if the MsgType value at the given location matches this schema.
+     *
+     * @param data   The byte array holding the value.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     * @return True if the value equals the schema's MsgType.
+     */
+    public boolean matches(byte[] data, int offset, int length) {
+        if (length != msgType.length) return false;
+        for (int i = 0; i < length; i++) {
+            if (data[offset + i] != msgType[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of fields defined.
+     *
+     * @return The number of fields.
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the size of the presence bitmap in bytes.
+     *
+     * @return The bitmap length.
+     */
+    int getBitmapLength() {
+        return (fieldCount + 7) >>> 3;
+    }
+
+    /**
+     * Returns the fixed length of every record of this schema.
+     *
+     * @return The record length in bytes.
+     */
+    public int getRecordLength() {
+        return SCHEMA_ID_LENGTH + getBitmapLength() + fieldsLength;
+    }
+
+    /**
+     * Retrieves the field index of the given tag.
+     *
+     * @param tag The FIX tag.
+     * @return The field index, or -1 if the tag is not part of the schema.
+     */
+    public int getFieldIndex(int tag) {
+        int index = fieldsByTag.getIndex(tag);
+        return index < 0 ? -1 : fieldsByTag.getLength(index);
+    }
+
+    /**
+     * Returns the tag of the field at the given index.
+     *
+     * @param fieldIndex The field index.
+     * @return The FIX tag.
+     */
+    public int getTag(int fieldIndex) {
+        return tags[fieldIndex];
+    }
+
+    /**
+     * Returns the type of the field at the given index.
+     *
+     * @param fieldIndex The field index.
+     * @return The field type.
+     */
+    public FieldType getType(int fieldIndex) {
+        return types[fieldIndex];
+    }
+
+    /**
+     * Returns the offset of the field from the start of the record.
+     *
+     * @param fieldIndex The field index.
+     * @return The offset in bytes.
+     */
+    public int getOffset(int fieldIndex) {
+        return SCHEMA_ID_LENGTH + getBitmapLength() + offsets[fieldIndex];
+    }
+
+    /**
+     * Returns the scale of a DECIMAL field.
+     *
+     * @param fieldIndex The field index.
+     * @return The number of implied decimal places.
+     */
+    public int getScale(int fieldIndex) {
+        return params[fieldIndex];
+    }
+
+    /**
+     * Returns the maximum length of a STRING field.
+     *
+     * @param fieldIndex The field index.
+     * @return The maximum number of bytes.
+     */
+    public int getMaxLength(int fieldIndex) {
+        return params[fieldIndex];
+    }
+}
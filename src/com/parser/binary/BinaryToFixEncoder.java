@@ -0,0 +1,116 @@
+package com.parser.binary;
+
+import com.parser.utils.ByteUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes binary records back into FIX tag=value messages.
+ * BeginString (8), BodyLength (9), MsgType (35) and CheckSum (10) are always written by the
+ * encoder itself; the remaining present fields follow in schema order.
+ */
+public class BinaryToFixEncoder {
+    private static final byte SOH = 0x01;
+    private static final byte EQUALS = '=';
+    private static final int BEGIN_STRING = 8;
+    private static final int BODY_LENGTH = 9;
+    private static final int MSG_TYPE = 35;
+    private static final int CHECKSUM = 10;
+    // space reserved for the BodyLength value before its actual length is known
+    private static final int BODY_LENGTH_RESERVED = 10;
+
+    private final byte[] beginString;
+
+    /**
+     * Constructs a new encoder writing the given BeginString.
+     *
+     * @param beginString The BeginString value, e.g. "FIX.4.4".
+     */
+    public BinaryToFixEncoder(String beginString) {
+        this.beginString = beginString.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encodes the record the reader is wrapped around.
+     *
+     * @param reader     The reader wrapped around a record.
+     * @param dest       The destination buffer, must be large enough for the message.
+     * @param destOffset The offset in the destination buffer to write the message at.
+     * @return The number of bytes written.
+     */
+    public int encode(BinaryRecordReader reader, byte[] dest, int destOffset) {
+        BinarySchema schema = reader.getSchema();
+        byte[] buffer = reader.getBuffer();
+        int recordOffset = reader.getOffset();
+
+        int i = destOffset;
+        i = writeTag(BEGIN_STRING, dest, i);
+        System.arraycopy(beginString, 0, dest, i, beginString.length);
+        i += beginString.length;
+        dest[i++] = SOH;
+        i = writeTag(BODY_LENGTH, dest, i);
+        int bodyLengthOffset = i;
+
+        // body is written after the reserved space and moved back once its length is known
+        int bodyStart = bodyLengthOffset + BODY_LENGTH_RESERVED;
+        int b = writeTag(MSG_TYPE, dest, bodyStart);
+        byte[] msgType = schema.getMsgType();
+        System.arraycopy(msgType, 0, dest, b, msgType.length);
+        b += msgType.length;
+        dest[b++] = SOH;
+
+        for (int field = 0; field < schema.getFieldCount(); field++) {
+            int tag = schema.getTag(field);
+            if (tag == BEGIN_STRING || tag == BODY_LENGTH || tag == MSG_TYPE || tag == CHECKSUM) continue;
+            if (!reader.isPresent(field)) continue;
+
+            b = writeTag(tag, dest, b);
+            int fieldOffset = recordOffset + schema.getOffset(field);
+            switch (schema.getType(field)) {
+                case CHAR:
+                    dest[b++] = buffer[fieldOffset];
+                    break;
+                case INT:
+                    b += ByteUtils.writeLong(ByteUtils.readBinaryInt(buffer, fieldOffset), dest, b);
+                    break;
+                case LONG:
+                    b += ByteUtils.writeLong(ByteUtils.readBinaryLong(buffer, fieldOffset), dest, b);
+                    break;
+                case DECIMAL:
+                    b += ByteUtils.writeScaledLong(ByteUtils.readBinaryLong(buffer, fieldOffset),
+                            schema.getScale(field), dest, b);
+                    break;
+                case STRING:
+                    int length = buffer[fieldOffset] & 0xFF;
+                    System.arraycopy(buffer, fieldOffset + 1, dest, b, length);
+                    b += length;
+                    break;
+            }
+            dest[b++] = SOH;
+        }
+
+        int bodyLength = b - bodyStart;
+        i += ByteUtils.writeLong(bodyLength, dest, i);
+        dest[i++] = SOH;
+        System.arraycopy(dest, bodyStart, dest, i, bodyLength);
+        i += bodyLength;
+
+        int sum = 0;
+        for (int p = destOffset; p < i; p++) {
+            sum += dest[p] & 0xFF;
+        }
+        int checksum = sum % 256;
+        i = writeTag(CHECKSUM, dest, i);
+        dest[i++] = (byte) ('0' + checksum / 100);
+        dest[i++] = (byte) ('0' + (checksum / 10) % 10);
+        dest[i++] = (byte) ('0' + checksum % 10);
+        dest[i++] = SOH;
+        return i - destOffset;
+    }
+
+    private int writeTag(int tag, byte[] dest, int offset) {
+        int i = offset + ByteUtils.writeLong(tag, dest, offset);
+        dest[i++] = EQUALS;
+        return i;
+    }
+}
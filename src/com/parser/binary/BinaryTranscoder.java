@@ -0,0 +1,178 @@
+package com.parser.binary;
+
+import com.parser.FixParser;
+import com.parser.utils.ByteUtils;
+
+import java.util.Arrays;
+
+/**
+ * Transcodes parsed FIX messages into compact fixed layout binary records.
+ * Values are read straight from the offsets found by {@link FixParser} and written to
+ * a caller supplied buffer, so no intermediate objects are created.
+ * The same instance acts as the schema registry for {@link BinaryRecordReader}.
+ */
+public class BinaryTranscoder {
+    private static final int MSG_TYPE = 35;
+    private static final int DEFAULT_MAXIMUM_SCHEMAS = 64;
+
+    private final BinarySchema[] schemasById;
+    private final BinarySchema[] schemas;
+    private int schemaCount;
+
+    /**
+     * Constructs a new BinaryTranscoder with the default maximum number of schemas.
+     */
+    public BinaryTranscoder() {
+        this(DEFAULT_MAXIMUM_SCHEMAS);
+    }
+
+    /**
+     * Constructs a new BinaryTranscoder accepting schema ids below the given maximum.
+     *
+     * @param maxNumberOfSchemas The maximum number of schemas, schema ids must be lower than this.
+     */
+    public BinaryTranscoder(int maxNumberOfSchemas) {
+        this.schemasById = new BinarySchema[maxNumberOfSchemas];
+        this.schemas = new BinarySchema[maxNumberOfSchemas];
+    }
+
+    /**
+     * Registers a schema. Only one schema can be registered per id and per MsgType.
+     *
+     * @param schema The schema to register.
+     * @return This transcoder.
+     */
+    public BinaryTranscoder register(BinarySchema schema) {
+        int id = schema.getId();
+        if (id >= schemasById.length) {
+            throw new IllegalArgumentException("Schema id must be lower than " + schemasById.length);
+        }
+        if (schemasById[id] != null) {
+            throw new IllegalArgumentException("Schema already registered for id " + id);
+        }
+        byte[] msgType = schema.getMsgType();
+        if (findSchema(msgType, 0, msgType.length) != null) {
+            throw new IllegalArgumentException("Schema already registered for MsgType");
+        }
+        schemasById[id] = schema;
+        schemas[schemaCount++] = schema;
+        return this;
+    }
+
+    /**
+     * Retrieves the schema registered for an id.
+     *
+     * @param id The schema id.
+     * @return The schema, or null if none is registered.
+     */
+    public BinarySchema getSchema(int id) {
+        return id >= 0 && id < schemasById.length ? schemasById[id] : null;
+    }
+
+    /**
+     * Retrieves the schema registered for a MsgType value.
+     *
+     * @param data   The byte array holding the MsgType value.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     * @return The schema, or null if none is registered.
+     */
+    public BinarySchema findSchema(byte[] data, int offset, int length) {
+        for (int i = 0; i < schemaCount; i++) {
+            if (schemas[i].matches(data, offset, length)) return schemas[i];
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the schema for the MsgType of the parsed message.
+     *
+     * @param data      The raw FIX message byte array.
+     * @param fixParser The parser holding the parsed message.
+     * @return The schema, or null if the message has no MsgType or none is registered.
+     */
+    public BinarySchema findSchema(byte[] data, FixParser fixParser) {
+        if (fixParser.fieldDoesNotExists(MSG_TYPE)) return null;
+        return findSchema(data, fixParser.getOffset(MSG_TYPE), fixParser.getLength(MSG_TYPE));
+    }
+
+    /**
+     * Transcodes the parsed message into a binary record.
+     * Tags of the schema that are absent in the message are left clear in the presence bitmap,
+     * tags of the message that are not part of the schema are dropped.
+     *
+     * @param data       The raw FIX message byte array.
+     * @param fixParser  The parser holding the parsed message.
+     * @param dest       The destination buffer.
+     * @param destOffset The offset in the destination buffer to write the record at.
+     * @return The number of bytes written.
+     * @throws RuntimeException if no schema is registered for the MsgType.
+     * @throws IllegalArgumentException if the destination is too small or a string exceeds its slot.
+     */
+    public int encode(byte[] data, FixParser fixParser, byte[] dest, int destOffset) {
+        BinarySchema schema = findSchema(data, fixParser);
+        if (schema == null) {
+            throw new RuntimeException("No schema registered for MsgType");
+        }
+        int recordLength = schema.getRecordLength();
+        if (destOffset + recordLength > dest.length) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+
+        ByteUtils.writeBinaryShort(schema.getId(), dest, destOffset);
+        int bitmapOffset = destOffset + BinarySchema.SCHEMA_ID_LENGTH;
+        int bitmapLength = schema.getBitmapLength();
+        for (int i = 0; i < bitmapLength; i++) {
+            dest[bitmapOffset + i] = 0;
+        }
+
+        for (int field = 0; field < schema.getFieldCount(); field++) {
+            int fieldOffset = destOffset + schema.getOffset(field);
+            int tag = schema.getTag(field);
+            if (fixParser.fieldDoesNotExists(tag)) {
+                clearField(schema, field, dest, fieldOffset);
+                continue;
+            }
+            int offset = fixParser.getOffset(tag);
+            int length = fixParser.getLength(tag);
+            switch (schema.getType(field)) {
+                case CHAR:
+                    dest[fieldOffset] = length > 0 ? data[offset] : 0;
+                    break;
+                case INT:
+                    ByteUtils.writeBinaryInt(ByteUtils.readInt(data, offset, length), dest, fieldOffset);
+                    break;
+                case LONG:
+                    ByteUtils.writeBinaryLong(ByteUtils.readLong(data, offset, length), dest, fieldOffset);
+                    break;
+                case DECIMAL:
+                    ByteUtils.writeBinaryLong(ByteUtils.readScaledLong(data, offset, length, schema.getScale(field)),
+                            dest, fieldOffset);
+                    break;
+                case STRING:
+                    if (length > schema.getMaxLength(field)) {
+                        throw new IllegalArgumentException("Value of tag " + tag + " exceeds string slot");
+                    }
+                    dest[fieldOffset] = (byte) length;
+                    System.arraycopy(data, offset, dest, fieldOffset + 1, length);
+                    // a reused record may still hold the tail of a longer previous value
+                    Arrays.fill(dest, fieldOffset + 1 + length, fieldOffset + 1 + schema.getMaxLength(field), (byte) 0);
+                    break;
+            }
+            dest[bitmapOffset + (field >>> 3)] |= (byte) (1 << (field & 7));
+        }
+        return recordLength;
+    }
+
+    /**
+     * Zeroes an absent field so that records are deterministic byte for byte.
+     */
+    private void clearField(BinarySchema schema, int field, byte[] dest, int fieldOffset) {
+        int width = schema.getType(field) == FieldType.STRING
+                ? FieldType.STRING.getWidth() + schema.getMaxLength(field)
+                : schema.getType(field).getWidth();
+        for (int i = 0; i < width; i++) {
+            dest[fieldOffset + i] = 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.parser.binary;
+
+/**
+ * Binary representations supported by a {@link BinarySchema} field.
+ * Each type has a fixed width in the record so that every field lives at a fixed offset.
+ */
+public enum FieldType {
+    /** Single byte value, e.g. Side or OrdStatus. */
+    CHAR(1),
+    /** 4 byte little-endian int. */
+    INT(4),
+    /** 8 byte little-endian long. */
+    LONG(8),
+    /** 8 byte little-endian long holding the value scaled by 10^scale. */
+    DECIMAL(8),
+    /** 1 byte length prefix followed by a fixed size slot of maxLength bytes. */
+    STRING(1);
+
+    private final int width;
+
+    FieldType(int width) {
+        this.width = width;
+    }
+
+    /**
+     * Returns the fixed number of bytes the type occupies, excluding the data slot of a string.
+     *
+     * @return The width in bytes.
+     */
+    public int getWidth() {
+        return width;
+    }
+}
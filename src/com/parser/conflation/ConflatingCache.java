@@ -0,0 +1,182 @@
+package com.parser.conflation;
+
+import com.parser.FixParser;
+import com.parser.batch.ColumnSpec;
+import com.parser.utils.ByteInterner;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the latest values of selected tags per key, by default Symbol (55), for consumers slower than the message rate.
+ * The values of every key live in preallocated long slots, so memory is bounded by the number of keys.
+ * <p>
+ * A single thread, normally the parsing thread, calls {@link #update(byte[], FixParser)}; it never blocks or allocates
+ * once a key is known. Each key is guarded by a sequence lock: the writer bumps the version to odd, writes the values
+ * and bumps it back to even, while readers retry the copy if the version moved. Every
+ * {@link ConflationConsumer} has its own per key dirty flags, set by the writer and cleared as the consumer drains,
+ * so each consumer sees only the keys changed since its last drain.
+ */
+public class ConflatingCache {
+    /** Default key tag, Symbol. */
+    public static final int SYMBOL = 55;
+
+    private final ColumnSpec spec;
+    private final int keyTag;
+    private final int columnCount;
+    private final ByteInterner keys;
+    private final AtomicLongArray versions;
+    private final AtomicLongArray presence;
+    private final AtomicLongArray values;
+    private final long[] pending;
+    private volatile ConflationConsumer[] consumers = new ConflationConsumer[0];
+
+    /**
+     * Constructs a new cache keyed by Symbol (55).
+     *
+     * @param spec          The tags to keep, all stored as longs whatever their column type.
+     * @param maxKeys       The maximum number of distinct keys.
+     * @param maxKeysLength The maximum total number of bytes of all distinct keys.
+     */
+    public ConflatingCache(ColumnSpec spec, int maxKeys, int maxKeysLength) {
+        this(spec, SYMBOL, maxKeys, maxKeysLength);
+    }
+
+    /**
+     * Constructs a new cache.
+     *
+     * @param spec          The tags to keep, all stored as longs whatever their column type.
+     * @param keyTag        The tag whose value identifies the slot to update.
+     * @param maxKeys       The maximum number of distinct keys.
+     * @param maxKeysLength The maximum total number of bytes of all distinct keys.
+     */
+    public ConflatingCache(ColumnSpec spec, int keyTag, int maxKeys, int maxKeysLength) {
+        this.spec = spec;
+        this.keyTag = keyTag;
+        this.columnCount = spec.getColumnCount();
+        this.keys = new ByteInterner(maxKeys, maxKeysLength);
+        this.versions = new AtomicLongArray(maxKeys);
+        this.presence = new AtomicLongArray(maxKeys);
+        this.values = new AtomicLongArray(maxKeys * columnCount);
+        this.pending = new long[columnCount];
+    }
+
+    /**
+     * Registers a new consumer. Keys updated before registration are only seen once updated again.
+     *
+     * @return The consumer, to be drained by a single thread.
+     */
+    public synchronized ConflationConsumer newConsumer() {
+        ConflationConsumer consumer = new ConflationConsumer(this, versions.length());
+        ConflationConsumer[] registered = Arrays.copyOf(consumers, consumers.length + 1);
+        registered[consumers.length] = consumer;
+        consumers = registered;
+        return consumer;
+    }
+
+    /**
+     * Stores the values of the message last parsed by the parser in the slot of its key.
+     * Tags missing from the message keep their previous value. Must only be called from a single thread.
+     * If a value cannot be converted the exception is thrown before anything is stored.
+     *
+     * @param data      The raw FIX message byte array.
+     * @param fixParser The parser holding the parsed message.
+     * @return The id of the updated key, or -1 if the message has no key tag.
+     * @throws RuntimeException if the message has a new key and the cache is full.
+     */
+    public int update(byte[] data, FixParser fixParser) {
+        if (fixParser.fieldDoesNotExists(keyTag)) {
+            return -1;
+        }
+        int keyId = keys.intern(data, fixParser.getOffset(keyTag), fixParser.getLength(keyTag));
+
+        // values are converted before the slot is locked, so a malformed value cannot leave it locked
+        long updated = 0;
+        for (int column = 0; column < columnCount; column++) {
+            int tag = spec.getTag(column);
+            if (fixParser.fieldDoesNotExists(tag)) {
+                continue;
+            }
+            pending[column] = spec.readValue(column, data, fixParser.getOffset(tag), fixParser.getLength(tag));
+            updated |= 1L << column;
+        }
+
+        long version = versions.getPlain(keyId);
+        versions.setOpaque(keyId, version + 1);
+        VarHandle.storeStoreFence();
+        int base = keyId * columnCount;
+        for (int column = 0; column < columnCount; column++) {
+            if ((updated & (1L << column)) != 0) {
+                values.setOpaque(base + column, pending[column]);
+            }
+        }
+        presence.setOpaque(keyId, presence.getPlain(keyId) | updated);
+        versions.setRelease(keyId, version + 2);
+        // the version store must not be reordered with the dirty flag loads below: a consumer clears a flag and
+        // then reads the version, so a flag seen still set guarantees the consumer will read this version
+        VarHandle.fullFence();
+
+        ConflationConsumer[] registered = consumers;
+        for (ConflationConsumer consumer : registered) {
+            consumer.markDirty(keyId);
+        }
+        return keyId;
+    }
+
+    /**
+     * Copies a consistent view of the values of a key, retrying while the writer is updating it.
+     *
+     * @param keyId The id of the key.
+     * @param dest  The destination, at least as long as the number of columns.
+     * @return The presence mask of the columns, bit i set if column i has ever been updated.
+     */
+    long read(int keyId, long[] dest) {
+        int base = keyId * columnCount;
+        while (true) {
+            long version = versions.getAcquire(keyId);
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            for (int column = 0; column < columnCount; column++) {
+                dest[column] = values.getOpaque(base + column);
+            }
+            long present = presence.getOpaque(keyId);
+            VarHandle.loadLoadFence();
+            if (versions.getOpaque(keyId) == version) {
+                return present;
+            }
+        }
+    }
+
+    /**
+     * Copies the key of an id. Safe from consumer threads for ids received through a drain.
+     *
+     * @param keyId The id of the key.
+     * @param dest  A reusable pre-allocated byte array.
+     * @return The number of bytes copied.
+     */
+    public int getKey(int keyId, byte[] dest) {
+        return keys.getBytes(keyId, dest);
+    }
+
+    /**
+     * Returns the key of an id as a String. This allocates, not to be used on the hot path.
+     *
+     * @param keyId The id of the key.
+     * @return The key.
+     */
+    public String getKeyString(int keyId) {
+        return keys.toString(keyId);
+    }
+
+    /**
+     * Returns the tags kept by this cache.
+     *
+     * @return The spec.
+     */
+    public ColumnSpec getSpec() {
+        return spec;
+    }
+}
@@ -0,0 +1,98 @@
+package com.parser.conflation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A reader of a {@link ConflatingCache}, holding one dirty flag per key.
+ * The writer sets the flag of every key it updates; {@link #drain(ConflationHandler)} clears the flags and hands
+ * the latest values of each flagged key to the handler, so a slow consumer sees one update per key however many
+ * messages arrived in between. Each consumer must be drained by a single thread.
+ */
+public class ConflationConsumer {
+    private static final LongBinaryOperator OR = (current, bit) -> current | bit;
+
+    private final ConflatingCache cache;
+    private final AtomicLongArray dirty;
+    private final long[] values;
+    private long present;
+
+    ConflationConsumer(ConflatingCache cache, int maxKeys) {
+        this.cache = cache;
+        this.dirty = new AtomicLongArray((maxKeys + 63) >>> 6);
+        this.values = new long[Math.max(1, cache.getSpec().getColumnCount())];
+    }
+
+    void markDirty(int keyId) {
+        int word = keyId >>> 6;
+        long bit = 1L << keyId;
+        // the check saves the atomic operation while the consumer has not caught up, it relies on the
+        // fence the cache issues between publishing the values and marking the keys
+        if ((dirty.get(word) & bit) == 0) {
+            dirty.accumulateAndGet(word, bit, OR);
+        }
+    }
+
+    /**
+     * Hands every key updated since the previous drain to the handler.
+     *
+     * @param handler The handler, called on the current thread.
+     * @return The number of keys drained.
+     */
+    public int drain(ConflationHandler handler) {
+        int drained = 0;
+        for (int word = 0; word < dirty.length(); word++) {
+            if (dirty.get(word) == 0) {
+                continue;
+            }
+            long bits = dirty.getAndSet(word, 0);
+            while (bits != 0) {
+                int keyId = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                present = cache.read(keyId, values);
+                handler.onUpdate(this, keyId);
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Checks if the value of a column has been received for the key being drained.
+     *
+     * @param column The column index in the spec of the cache.
+     * @return True if the column has a value.
+     */
+    public boolean isPresent(int column) {
+        return (present & (1L << column)) != 0;
+    }
+
+    /**
+     * Returns the latest value of a long, decimal or timestamp column for the key being drained.
+     *
+     * @param column The column index in the spec of the cache.
+     * @return The value, or 0 if not present.
+     */
+    public long getLong(int column) {
+        return values[column];
+    }
+
+    /**
+     * Returns the latest value of an int, char or id column for the key being drained.
+     *
+     * @param column The column index in the spec of the cache.
+     * @return The value, or 0 if not present.
+     */
+    public int getInt(int column) {
+        return (int) values[column];
+    }
+
+    /**
+     * Returns the cache this consumer reads from.
+     *
+     * @return The cache.
+     */
+    public ConflatingCache getCache() {
+        return cache;
+    }
+}
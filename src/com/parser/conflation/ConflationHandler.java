@@ -0,0 +1,16 @@
+package com.parser.conflation;
+
+/**
+ * Callback receiving the keys drained by a {@link ConflationConsumer}.
+ */
+public interface ConflationHandler {
+
+    /**
+     * Called once for every key updated since the previous drain, however many messages updated it.
+     * The latest values of the key are read from the consumer and are only valid until the call returns.
+     *
+     * @param consumer The consumer holding the latest values of the key.
+     * @param keyId    The id of the key, see {@link ConflatingCache#getKey(int, byte[])}.
+     */
+    void onUpdate(ConflationConsumer consumer, int keyId);
+}
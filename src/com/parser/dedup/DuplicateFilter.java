@@ -0,0 +1,72 @@
+package com.parser.dedup;
+
+import com.parser.FixParser;
+
+/**
+ * Detects messages received again after a reconnect or failover.
+ * The fingerprint of every message is recorded in a {@link FingerprintWindow}, but the window is only
+ * looked up for messages flagged PossDupFlag (43=Y) or PossResend (97=Y), so regular flow never pays for
+ * a lookup and a resend storm costs one hash and one probe per message.
+ */
+public class DuplicateFilter {
+    private static final int POSS_DUP_FLAG = 43;
+    private static final int POSS_RESEND = 97;
+
+    private final MessageFingerprint fingerprint;
+    private final FingerprintWindow window;
+
+    /**
+     * Constructs a new filter.
+     *
+     * @param fingerprint The tags identifying a message.
+     * @param window      The window of recently seen fingerprints.
+     */
+    public DuplicateFilter(MessageFingerprint fingerprint, FingerprintWindow window) {
+        this.fingerprint = fingerprint;
+        this.window = window;
+    }
+
+    /**
+     * Records the message last parsed by the parser and checks if it is a duplicate.
+     * Only messages flagged as possible duplicates or resends can be reported as duplicates.
+     *
+     * @param data      The raw FIX message byte array.
+     * @param fixParser The parser holding the parsed message.
+     * @param nowNanos  The current time, used to expire old fingerprints.
+     * @return True if the message is flagged and its fingerprint was seen within the window.
+     */
+    public boolean isDuplicate(byte[] data, FixParser fixParser, long nowNanos) {
+        long value = fingerprint.compute(data, fixParser);
+        if (isFlagged(data, fixParser)) {
+            return !window.add(value, nowNanos);
+        }
+        window.record(value, nowNanos);
+        return false;
+    }
+
+    /**
+     * Checks if the message last parsed by the parser has PossDupFlag or PossResend set.
+     *
+     * @param data      The raw FIX message byte array.
+     * @param fixParser The parser holding the parsed message.
+     * @return True if 43=Y or 97=Y.
+     */
+    public static boolean isFlagged(byte[] data, FixParser fixParser) {
+        return isYes(data, fixParser, POSS_DUP_FLAG) || isYes(data, fixParser, POSS_RESEND);
+    }
+
+    private static boolean isYes(byte[] data, FixParser fixParser, int tag) {
+        return !fixParser.fieldDoesNotExists(tag)
+                && fixParser.getLength(tag) == 1
+                && data[fixParser.getOffset(tag)] == 'Y';
+    }
+
+    /**
+     * Returns the window of recently seen fingerprints.
+     *
+     * @return The window.
+     */
+    public FingerprintWindow getWindow() {
+        return window;
+    }
+}
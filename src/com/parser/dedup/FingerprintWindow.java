@@ -0,0 +1,167 @@
+package com.parser.dedup;
+
+import java.util.Arrays;
+
+/**
+ * A bounded set of recently seen fingerprints, held in primitive arrays allocated up front.
+ * Fingerprints are kept in insertion order in a ring and indexed by an open addressing table;
+ * the oldest are evicted once the window holds its maximum number of entries or once they are
+ * older than the maximum age. Not thread safe.
+ */
+public class FingerprintWindow {
+    private static final long EMPTY = 0;
+
+    private final long[] table;
+    private final int mask;
+    private final long[] ring;
+    private final long[] timestamps;
+    private final long maxAgeNanos;
+    private int head; // oldest entry
+    private int size;
+
+    /**
+     * Constructs a window bounded by count only.
+     *
+     * @param maxEntries The maximum number of fingerprints kept.
+     */
+    public FingerprintWindow(int maxEntries) {
+        this(maxEntries, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a window bounded by count and age.
+     *
+     * @param maxEntries  The maximum number of fingerprints kept.
+     * @param maxAgeNanos The age after which a fingerprint is forgotten, in the unit of the timestamps passed.
+     */
+    public FingerprintWindow(int maxEntries, long maxAgeNanos) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Window must hold at least one entry: " + maxEntries);
+        }
+        int tableSize = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+        this.table = new long[tableSize];
+        this.mask = tableSize - 1;
+        this.ring = new long[maxEntries];
+        this.timestamps = new long[maxEntries];
+        this.maxAgeNanos = maxAgeNanos;
+    }
+
+    private int slot(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    /**
+     * Checks if a fingerprint is in the window, without adding it.
+     *
+     * @param fingerprint The fingerprint, not 0.
+     * @return True if seen within the window.
+     */
+    public boolean contains(long fingerprint) {
+        int index = slot(fingerprint);
+        long entry;
+        while ((entry = table[index]) != EMPTY) {
+            if (entry == fingerprint) return true;
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a fingerprint unless already in the window, evicting expired and, if full, the oldest entries first.
+     *
+     * @param fingerprint The fingerprint, not 0.
+     * @param nowNanos    The current time, compared with the age of the entries.
+     * @return True if added, false if the fingerprint was already in the window.
+     */
+    public boolean add(long fingerprint, long nowNanos) {
+        expire(nowNanos);
+        if (contains(fingerprint)) {
+            return false;
+        }
+        insert(fingerprint, nowNanos);
+        return true;
+    }
+
+    /**
+     * Adds a fingerprint without checking if it is already in the window, for messages known to be new.
+     * A fingerprint recorded twice simply takes two entries.
+     *
+     * @param fingerprint The fingerprint, not 0.
+     * @param nowNanos    The current time, compared with the age of the entries.
+     */
+    public void record(long fingerprint, long nowNanos) {
+        expire(nowNanos);
+        insert(fingerprint, nowNanos);
+    }
+
+    private void expire(long nowNanos) {
+        while (size > 0 && nowNanos - timestamps[head] > maxAgeNanos) {
+            evictOldest();
+        }
+    }
+
+    private void insert(long fingerprint, long nowNanos) {
+        if (size == ring.length) {
+            evictOldest();
+        }
+        int tail = head + size;
+        if (tail >= ring.length) tail -= ring.length;
+        ring[tail] = fingerprint;
+        timestamps[tail] = nowNanos;
+        size++;
+
+        int index = slot(fingerprint);
+        while (table[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        table[index] = fingerprint;
+    }
+
+    private void evictOldest() {
+        remove(ring[head]);
+        head = head + 1 == ring.length ? 0 : head + 1;
+        size--;
+    }
+
+    /**
+     * Removes a fingerprint from the table, shifting back the entries of its probe chain
+     * so that lookups never stop early on the freed slot.
+     */
+    private void remove(long fingerprint) {
+        int index = slot(fingerprint);
+        while (table[index] != fingerprint) {
+            index = (index + 1) & mask;
+        }
+        int free = index;
+        while (true) {
+            index = (index + 1) & mask;
+            long entry = table[index];
+            if (entry == EMPTY) break;
+            int home = slot(entry);
+            // move the entry back unless its home lies cyclically in (free, index]
+            if (((index - home) & mask) >= ((index - free) & mask)) {
+                table[free] = entry;
+                free = index;
+            }
+        }
+        table[free] = EMPTY;
+    }
+
+    /**
+     * Returns the number of fingerprints in the window.
+     *
+     * @return The number of fingerprints.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Forgets every fingerprint.
+     */
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.parser.dedup;
+
+import com.parser.FixParser;
+
+/**
+ * Computes a 64-bit fingerprint over the raw values of selected tags, e.g. ExecID (17), or ClOrdID (11),
+ * ExecType (150) and CumQty (14). Only the bytes of the selected values are read, straight from the
+ * field locations found by {@link FixParser#parse(byte[])}, so nothing is copied or allocated.
+ */
+public class MessageFingerprint {
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final int[] tags;
+
+    /**
+     * Constructs a new fingerprint over the given tags.
+     *
+     * @param tags The tags identifying a message, in the order they are hashed.
+     * @throws IllegalArgumentException if no tag is given.
+     */
+    public MessageFingerprint(int... tags) {
+        if (tags.length == 0) {
+            throw new IllegalArgumentException("At least one tag is required");
+        }
+        this.tags = tags.clone();
+    }
+
+    /**
+     * Computes the fingerprint of the message last parsed by the parser.
+     * Missing tags are hashed as absent, so they differ from tags with an empty value.
+     *
+     * @param data      The raw FIX message byte array.
+     * @param fixParser The parser holding the parsed message.
+     * @return The fingerprint, never 0.
+     */
+    public long compute(byte[] data, FixParser fixParser) {
+        long h = FNV_OFFSET;
+        for (int tag : tags) {
+            h = (h ^ tag) * FNV_PRIME;
+            if (fixParser.fieldDoesNotExists(tag)) {
+                h = (h ^ -1L) * FNV_PRIME;
+                continue;
+            }
+            int offset = fixParser.getOffset(tag);
+            int length = fixParser.getLength(tag);
+            h = (h ^ length) * FNV_PRIME;
+            for (int i = offset; i < offset + length; i++) {
+                h = (h ^ (data[i] & 0xFF)) * FNV_PRIME;
+            }
+        }
+        // final avalanche so that the low bits used for table slots depend on every input byte
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
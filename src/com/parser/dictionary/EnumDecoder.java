@@ -0,0 +1,154 @@
+package com.parser.dictionary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps the raw bytes of a FIX enum value to a small int ordinal without allocating or comparing strings.
+ * Single character values, the vast majority, are looked up in a table indexed by the byte itself.
+ * Values of two to four characters are packed into an int and looked up in a perfect hash table,
+ * searched for at construction so that no two values share a slot.
+ */
+public class EnumDecoder {
+    /** Returned for values that are not part of the dictionary. */
+    public static final int UNKNOWN = -1;
+    private static final int MAX_VALUE_LENGTH = 4;
+    private static final int MAX_MULTIPLIER_ATTEMPTS = 10_000;
+
+    private final String[] values;
+    private final int[] singleCharOrdinals = new int[256];
+    private final int[] multiCharKeys;
+    private final int[] multiCharOrdinals;
+    private final int multiplier;
+    private final int shift;
+
+    /**
+     * Constructs a new decoder; the ordinal of a value is its position in the arguments.
+     *
+     * @param values The ASCII wire values, one to four characters each.
+     * @throws IllegalArgumentException if a value is empty, too long or repeated.
+     */
+    public EnumDecoder(String... values) {
+        this.values = values.clone();
+        Arrays.fill(singleCharOrdinals, UNKNOWN);
+
+        int multiCharCount = 0;
+        int[] keys = new int[values.length];
+        for (int ordinal = 0; ordinal < values.length; ordinal++) {
+            byte[] value = values[ordinal].getBytes(StandardCharsets.US_ASCII);
+            if (value.length == 0 || value.length > MAX_VALUE_LENGTH) {
+                throw new IllegalArgumentException("Enum value must have 1 to " + MAX_VALUE_LENGTH + " characters: " + values[ordinal]);
+            }
+            for (int other = 0; other < ordinal; other++) {
+                if (values[other].equals(values[ordinal])) {
+                    throw new IllegalArgumentException("Enum value repeated: " + values[ordinal]);
+                }
+            }
+            if (value.length == 1) {
+                singleCharOrdinals[value[0] & 0xFF] = ordinal;
+            } else {
+                keys[ordinal] = pack(value, 0, value.length);
+                multiCharCount++;
+            }
+        }
+
+        // smallest power of two table, at least twice the number of values, that a multiplier maps without collision
+        int bits = 1;
+        while ((1 << bits) < multiCharCount * 2) bits++;
+        while (true) {
+            int found = findMultiplier(keys, bits);
+            if (found != 0) {
+                this.multiplier = found;
+                this.shift = 32 - bits;
+                break;
+            }
+            bits++;
+        }
+        this.multiCharKeys = new int[1 << bits];
+        this.multiCharOrdinals = new int[1 << bits];
+        Arrays.fill(multiCharOrdinals, UNKNOWN);
+        for (int ordinal = 0; ordinal < keys.length; ordinal++) {
+            if (keys[ordinal] != 0) {
+                int slot = (keys[ordinal] * multiplier) >>> shift;
+                multiCharKeys[slot] = keys[ordinal];
+                multiCharOrdinals[slot] = ordinal;
+            }
+        }
+    }
+
+    /**
+     * Searches for an odd multiplier mapping every non-zero key to a distinct slot of a 2^bits table.
+     *
+     * @return The multiplier, or 0 if none was found.
+     */
+    private static int findMultiplier(int[] keys, int bits) {
+        boolean[] used = new boolean[1 << bits];
+        int candidate = 0x9E3779B9; // golden ratio, then a deterministic sequence of odd values
+        for (int attempt = 0; attempt < MAX_MULTIPLIER_ATTEMPTS; attempt++) {
+            Arrays.fill(used, false);
+            boolean collision = false;
+            for (int key : keys) {
+                if (key == 0) continue;
+                int slot = (key * candidate) >>> (32 - bits);
+                if (used[slot]) {
+                    collision = true;
+                    break;
+                }
+                used[slot] = true;
+            }
+            if (!collision) return candidate;
+            candidate = (candidate * 0x2C1B3C6D + 0x297A2D39) | 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Packs up to four bytes into an int, first byte lowest.
+     */
+    private static int pack(byte[] data, int offset, int length) {
+        int key = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            key = (key << 8) | (data[offset + i] & 0xFF);
+        }
+        return key;
+    }
+
+    /**
+     * Decodes a raw value.
+     *
+     * @param data   The byte array holding the value.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     * @return The ordinal of the value, or {@link #UNKNOWN}.
+     */
+    public int decode(byte[] data, int offset, int length) {
+        if (length == 1) {
+            return singleCharOrdinals[data[offset] & 0xFF];
+        }
+        if (length < 2 || length > MAX_VALUE_LENGTH) {
+            return UNKNOWN;
+        }
+        int key = pack(data, offset, length);
+        int slot = (key * multiplier) >>> shift;
+        return multiCharKeys[slot] == key ? multiCharOrdinals[slot] : UNKNOWN;
+    }
+
+    /**
+     * Returns the number of values in the dictionary.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns the wire value of an ordinal.
+     *
+     * @param ordinal The ordinal.
+     * @return The wire value.
+     */
+    public String getValue(int ordinal) {
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,82 @@
+package com.parser.dictionary;
+
+import java.util.Arrays;
+
+/**
+ * Maps the raw bytes of a FIX enum value to a preallocated Java enum constant through an {@link EnumDecoder}.
+ *
+ * @param <E> The Java enum mirroring the FIX field.
+ */
+public class EnumMapper<E extends Enum<E> & FixEnumValue> {
+    private final EnumDecoder decoder;
+    private final E[] constantsByOrdinal;
+    private final E unknown;
+
+    /**
+     * Constructs a new mapper from every constant of the enum.
+     *
+     * @param type The enum class, with exactly one constant having a null wire value.
+     * @throws IllegalArgumentException if the enum has no or several unknown sentinels.
+     */
+    public EnumMapper(Class<E> type) {
+        E[] constants = type.getEnumConstants();
+        E sentinel = null;
+        int known = 0;
+        for (E constant : constants) {
+            if (constant.getValue() == null) {
+                if (sentinel != null) {
+                    throw new IllegalArgumentException("Several unknown sentinels in " + type.getSimpleName());
+                }
+                sentinel = constant;
+            } else {
+                known++;
+            }
+        }
+        if (sentinel == null) {
+            throw new IllegalArgumentException("No unknown sentinel in " + type.getSimpleName());
+        }
+
+        String[] values = new String[known];
+        this.constantsByOrdinal = Arrays.copyOf(constants, known);
+        int ordinal = 0;
+        for (E constant : constants) {
+            if (constant.getValue() != null) {
+                values[ordinal] = constant.getValue();
+                constantsByOrdinal[ordinal++] = constant;
+            }
+        }
+        this.decoder = new EnumDecoder(values);
+        this.unknown = sentinel;
+    }
+
+    /**
+     * Decodes a raw value.
+     *
+     * @param data   The byte array holding the value.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     * @return The matching constant, or the unknown sentinel.
+     */
+    public E decode(byte[] data, int offset, int length) {
+        int ordinal = decoder.decode(data, offset, length);
+        return ordinal == EnumDecoder.UNKNOWN ? unknown : constantsByOrdinal[ordinal];
+    }
+
+    /**
+     * Returns the underlying decoder, whose ordinals follow the declaration order of the known constants.
+     *
+     * @return The decoder.
+     */
+    public EnumDecoder getDecoder() {
+        return decoder;
+    }
+
+    /**
+     * Returns the sentinel returned for unknown values.
+     *
+     * @return The unknown constant.
+     */
+    public E getUnknown() {
+        return unknown;
+    }
+}
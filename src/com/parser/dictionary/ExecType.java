@@ -0,0 +1,41 @@
+package com.parser.dictionary;
+
+/**
+ * ExecType (150) values.
+ */
+public enum ExecType implements FixEnumValue {
+    NEW("0"),
+    PARTIAL_FILL("1"),
+    FILL("2"),
+    DONE_FOR_DAY("3"),
+    CANCELED("4"),
+    REPLACED("5"),
+    PENDING_CANCEL("6"),
+    STOPPED("7"),
+    REJECTED("8"),
+    SUSPENDED("9"),
+    PENDING_NEW("A"),
+    CALCULATED("B"),
+    EXPIRED("C"),
+    RESTATED("D"),
+    PENDING_REPLACE("E"),
+    TRADE("F"),
+    TRADE_CORRECT("G"),
+    TRADE_CANCEL("H"),
+    ORDER_STATUS("I"),
+    UNKNOWN(null);
+
+    /** Maps raw ExecType values to constants. */
+    public static final EnumMapper<ExecType> MAPPER = new EnumMapper<>(ExecType.class);
+
+    private final String value;
+
+    ExecType(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,15 @@
+package com.parser.dictionary;
+
+/**
+ * Implemented by Java enums mirroring a FIX enum field, to give the wire value of each constant.
+ * Exactly one constant, the sentinel returned for values not in the dictionary, has a null wire value.
+ */
+public interface FixEnumValue {
+
+    /**
+     * Returns the value of the constant on the wire.
+     *
+     * @return The wire value, or null for the unknown sentinel.
+     */
+    String getValue();
+}
@@ -0,0 +1,50 @@
+package com.parser.dictionary;
+
+/**
+ * MsgType (35) values.
+ */
+public enum MsgType implements FixEnumValue {
+    HEARTBEAT("0"),
+    TEST_REQUEST("1"),
+    RESEND_REQUEST("2"),
+    REJECT("3"),
+    SEQUENCE_RESET("4"),
+    LOGOUT("5"),
+    EXECUTION_REPORT("8"),
+    ORDER_CANCEL_REJECT("9"),
+    LOGON("A"),
+    NEW_ORDER_SINGLE("D"),
+    NEW_ORDER_LIST("E"),
+    ORDER_CANCEL_REQUEST("F"),
+    ORDER_CANCEL_REPLACE_REQUEST("G"),
+    ORDER_STATUS_REQUEST("H"),
+    QUOTE_REQUEST("R"),
+    QUOTE("S"),
+    MARKET_DATA_REQUEST("V"),
+    MARKET_DATA_SNAPSHOT_FULL_REFRESH("W"),
+    MARKET_DATA_INCREMENTAL_REFRESH("X"),
+    MARKET_DATA_REQUEST_REJECT("Y"),
+    SECURITY_DEFINITION("d"),
+    BUSINESS_MESSAGE_REJECT("j"),
+    ORDER_MASS_CANCEL_REQUEST("q"),
+    ORDER_MASS_CANCEL_REPORT("r"),
+    TRADE_CAPTURE_REPORT("AE"),
+    TRADE_CAPTURE_REPORT_ACK("AR"),
+    SECURITY_LIST_REQUEST("x"),
+    SECURITY_LIST("y"),
+    UNKNOWN(null);
+
+    /** Maps raw MsgType values to constants. */
+    public static final EnumMapper<MsgType> MAPPER = new EnumMapper<>(MsgType.class);
+
+    private final String value;
+
+    MsgType(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+}
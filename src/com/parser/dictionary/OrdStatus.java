@@ -0,0 +1,37 @@
+package com.parser.dictionary;
+
+/**
+ * OrdStatus (39) values.
+ */
+public enum OrdStatus implements FixEnumValue {
+    NEW("0"),
+    PARTIALLY_FILLED("1"),
+    FILLED("2"),
+    DONE_FOR_DAY("3"),
+    CANCELED("4"),
+    REPLACED("5"),
+    PENDING_CANCEL("6"),
+    STOPPED("7"),
+    REJECTED("8"),
+    SUSPENDED("9"),
+    PENDING_NEW("A"),
+    CALCULATED("B"),
+    EXPIRED("C"),
+    ACCEPTED_FOR_BIDDING("D"),
+    PENDING_REPLACE("E"),
+    UNKNOWN(null);
+
+    /** Maps raw OrdStatus values to constants. */
+    public static final EnumMapper<OrdStatus> MAPPER = new EnumMapper<>(OrdStatus.class);
+
+    private final String value;
+
+    OrdStatus(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+}
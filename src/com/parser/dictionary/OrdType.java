@@ -0,0 +1,40 @@
+package com.parser.dictionary;
+
+/**
+ * OrdType (40) values.
+ */
+public enum OrdType implements FixEnumValue {
+    MARKET("1"),
+    LIMIT("2"),
+    STOP("3"),
+    STOP_LIMIT("4"),
+    MARKET_ON_CLOSE("5"),
+    WITH_OR_WITHOUT("6"),
+    LIMIT_OR_BETTER("7"),
+    LIMIT_WITH_OR_WITHOUT("8"),
+    ON_BASIS("9"),
+    PREVIOUSLY_QUOTED("D"),
+    PREVIOUSLY_INDICATED("E"),
+    FOREX_SWAP("G"),
+    FUNARI("I"),
+    MARKET_IF_TOUCHED("J"),
+    MARKET_WITH_LEFTOVER_AS_LIMIT("K"),
+    PREVIOUS_FUND_VALUATION_POINT("L"),
+    NEXT_FUND_VALUATION_POINT("M"),
+    PEGGED("P"),
+    UNKNOWN(null);
+
+    /** Maps raw OrdType values to constants. */
+    public static final EnumMapper<OrdType> MAPPER = new EnumMapper<>(OrdType.class);
+
+    private final String value;
+
+    OrdType(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,31 @@
+package com.parser.dictionary;
+
+/**
+ * Side (54) values.
+ */
+public enum Side implements FixEnumValue {
+    BUY("1"),
+    SELL("2"),
+    BUY_MINUS("3"),
+    SELL_PLUS("4"),
+    SELL_SHORT("5"),
+    SELL_SHORT_EXEMPT("6"),
+    UNDISCLOSED("7"),
+    CROSS("8"),
+    CROSS_SHORT("9"),
+    UNKNOWN(null);
+
+    /** Maps raw Side values to constants. */
+    public static final EnumMapper<Side> MAPPER = new EnumMapper<>(Side.class);
+
+    private final String value;
+
+    Side(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.parser.dictionary;
+
+/**
+ * TimeInForce (59) values.
+ */
+public enum TimeInForce implements FixEnumValue {
+    DAY("0"),
+    GOOD_TILL_CANCEL("1"),
+    AT_THE_OPENING("2"),
+    IMMEDIATE_OR_CANCEL("3"),
+    FILL_OR_KILL("4"),
+    GOOD_TILL_CROSSING("5"),
+    GOOD_TILL_DATE("6"),
+    AT_THE_CLOSE("7"),
+    UNKNOWN(null);
+
+    /** Maps raw TimeInForce values to constants. */
+    public static final EnumMapper<TimeInForce> MAPPER = new EnumMapper<>(TimeInForce.class);
+
+    private final String value;
+
+    TimeInForce(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,22 @@
+package com.parser.journal;
+
+import com.parser.FixParser;
+
+/**
+ * Callback receiving the messages replayed by a {@link JournalReader}.
+ * The message bytes and the parser are only valid until the call returns.
+ */
+public interface JournalHandler {
+
+    /**
+     * Called for every record, in the order they were appended.
+     *
+     * @param data         The segment holding the message.
+     * @param offset       The offset of the message.
+     * @param length       The length of the message.
+     * @param status       The record status, e.g. {@link JournalWriter#STATUS_VALID}.
+     * @param receiveNanos The {@link System#nanoTime()} at which the message was received.
+     * @param fixParser    The parser holding the message parsed in place.
+     */
+    void onMessage(byte[] data, int offset, int length, int status, long receiveNanos, FixParser fixParser);
+}
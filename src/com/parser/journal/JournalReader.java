@@ -0,0 +1,127 @@
+package com.parser.journal;
+
+import com.parser.FixParser;
+import com.parser.utils.ByteUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Replays the records of the segment files written by a {@link JournalWriter}, in order, for recovery.
+ * Each segment is read once into a reusable buffer and its messages are parsed in place from there,
+ * so replaying does not copy or allocate per message. Each segment is read up to its first zero length,
+ * where the writer stopped. A record failing its checksum, or that cannot be parsed, was torn by a crash:
+ * it is treated as the end of its segment and reported by {@link #isTorn()}. Replay carries on with the
+ * next segment, where a writer reopened after the crash resumed appending.
+ */
+public class JournalReader {
+    private final Path directory;
+    private final CRC32C crc = new CRC32C();
+    private byte[] segment = new byte[0];
+    private boolean torn;
+
+    /**
+     * Constructs a new reader.
+     *
+     * @param directory The directory holding the segment files.
+     */
+    public JournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Replays every record of every segment.
+     *
+     * @param fixParser The parser each message is parsed with before being handed over.
+     * @param handler   The handler receiving the messages.
+     * @return The number of records replayed.
+     * @throws IOException if a segment cannot be read.
+     */
+    public long replay(FixParser fixParser, JournalHandler handler) throws IOException {
+        torn = false;
+        long records = 0;
+        int last = JournalWriter.lastSegmentIndex(directory);
+        for (int index = 0; index <= last; index++) {
+            Path path = JournalSegment.path(directory, index);
+            if (!Files.exists(path)) {
+                continue;
+            }
+            int size = load(path);
+            // a torn record ends its segment only: a writer reopened after the crash starts a fresh segment
+            records += replaySegment(size, fixParser, handler);
+        }
+        return records;
+    }
+
+    private int load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Segment too large: " + path);
+            }
+            if (segment.length < size) {
+                segment = new byte[(int) size];
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(segment, 0, (int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) break;
+            }
+            return buffer.position();
+        }
+    }
+
+    /**
+     * Replays the records of the loaded segment up to its first zero length or torn record.
+     *
+     * Sets {@link #torn} if a torn record is found.
+     *
+     * @return The number of records replayed.
+     */
+    private long replaySegment(int size, FixParser fixParser, JournalHandler handler) {
+        long records = 0;
+        int position = 0;
+        while (position + JournalWriter.HEADER_LENGTH <= size) {
+            int length = ByteUtils.readBinaryInt(segment, position);
+            if (length == 0) {
+                break;
+            }
+            int offset = position + JournalWriter.HEADER_LENGTH;
+            if (length < 0 || offset + length > size) {
+                torn = true;
+                break;
+            }
+            int status = ByteUtils.readBinaryInt(segment, position + 4);
+            long receiveNanos = ByteUtils.readBinaryLong(segment, position + 8);
+            int checksum = ByteUtils.readBinaryInt(segment, position + 16);
+            if (checksum != JournalSegment.checksum(crc, length, status, receiveNanos, segment, offset)) {
+                torn = true;
+                break;
+            }
+            try {
+                fixParser.parse(segment, offset, length);
+            } catch (RuntimeException e) {
+                torn = true;
+                break;
+            }
+            handler.onMessage(segment, offset, length, status, receiveNanos, fixParser);
+            records++;
+            position = (offset + length + 7) & ~7;
+        }
+        return records;
+    }
+
+    /**
+     * Checks if the last replay found a record that was only partly persisted, e.g. after a power loss.
+     * The rest of the segment holding that record is skipped.
+     *
+     * @return True if the journal ended with a torn record.
+     */
+    public boolean isTorn() {
+        return torn;
+    }
+}
@@ -0,0 +1,97 @@
+package com.parser.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+/**
+ * One pre-sized memory mapped segment file of a journal, shared by the writer and the flusher.
+ * The writer publishes how far it has written; the flusher forces the mapped pages up to that point
+ * and follows {@link #next} once the segment is sealed and fully flushed.
+ */
+class JournalSegment {
+    final int index;
+    final MappedByteBuffer buffer;
+    /** Bytes of complete records, published by the writer. */
+    final AtomicInteger written = new AtomicInteger();
+    /** Bytes forced to storage, only accessed by the flusher. */
+    int flushed;
+    /** Set by the writer once no more records will be added. */
+    volatile boolean sealed;
+    /** The segment written after this one, set before sealing. */
+    volatile JournalSegment next;
+
+    private final FileChannel channel;
+
+    private JournalSegment(int index, FileChannel channel, MappedByteBuffer buffer) {
+        this.index = index;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates a new zero filled segment file of the given size and maps it.
+     */
+    static JournalSegment create(Path directory, int index, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path(directory, index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new JournalSegment(index, channel, buffer);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the path of the segment file with the given index.
+     */
+    static Path path(Path directory, int index) {
+        return directory.resolve(String.format("journal-%08d.log", index));
+    }
+
+    /**
+     * Computes the checksum of a record over its header fields and message, so that a record whose pages
+     * were only partly written to storage before a crash is detected on replay.
+     */
+    static int checksum(CRC32C crc, int length, int status, long receiveNanos, byte[] data, int offset) {
+        crc.reset();
+        for (int shift = 0; shift < 32; shift += 8) {
+            crc.update(length >>> shift);
+        }
+        for (int shift = 0; shift < 32; shift += 8) {
+            crc.update(status >>> shift);
+        }
+        for (int shift = 0; shift < 64; shift += 8) {
+            crc.update((int) (receiveNanos >>> shift));
+        }
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Forces the records written since the last call to storage.
+     *
+     * @return True if anything was forced.
+     */
+    boolean flush() {
+        int end = written.get();
+        if (end == flushed) {
+            return false;
+        }
+        buffer.force(flushed, end - flushed);
+        flushed = end;
+        return true;
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+}
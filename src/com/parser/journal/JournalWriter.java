@@ -0,0 +1,248 @@
+package com.parser.journal;
+
+import com.parser.FixParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Appends raw inbound FIX messages to pre-sized memory mapped segment files, so that persisting a
+ * message costs a memory copy rather than a system call.
+ *
+ * <pre>
+ * | length (4) | status (4) | receive nanotime (8) | CRC32C (4) | reserved (4) | message | padding to 8 bytes | ...
+ * </pre>
+ *
+ * The length is written last with release semantics, so a concurrent reader of the mapping never sees a partial
+ * record. This ordering does not survive a crash: pages reach storage in any order, so a record at the tail may
+ * be persisted only in part. The checksum over the header fields and the message lets {@link JournalReader}
+ * detect such a record and skip the rest of its segment. A record that does not fit in the remaining space starts a new segment; the next segment is
+ * prepared ahead of time by the flusher thread, which also forces written records to storage every
+ * flush interval, or earlier once the configured number of records is pending. Appends must come from a
+ * single thread.
+ */
+public class JournalWriter implements Closeable {
+    /** Record status of a message whose checksum was valid. */
+    public static final int STATUS_VALID = 1;
+    /** Record status of a message whose checksum was invalid. */
+    public static final int STATUS_INVALID = 2;
+    static final int HEADER_LENGTH = 24;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int flushBatchSize;
+    private final long flushIntervalNanos;
+    private final Thread flusher;
+    private final Object segmentLock = new Object();
+    private final CRC32C crc = new CRC32C();
+    private int nextIndex;
+    private JournalSegment spare; // guarded by segmentLock
+    private JournalSegment current;
+    private int position;
+    private int pendingRecords;
+    private volatile boolean running = true;
+    private volatile IOException flushFailure;
+
+    /**
+     * Constructs a new writer, appending after any segment already in the directory.
+     *
+     * @param directory          The directory holding the segment files.
+     * @param segmentSize        The size of each segment file, also the limit on a record.
+     * @param flushBatchSize     The number of records after which the flusher is woken up early.
+     * @param flushIntervalNanos The maximum time between two flushes, must be positive.
+     * @throws IOException if the directory cannot be read or the first segment cannot be created.
+     */
+    public JournalWriter(Path directory, int segmentSize, int flushBatchSize, long flushIntervalNanos) throws IOException {
+        if (segmentSize < HEADER_LENGTH || segmentSize % 8 != 0) {
+            throw new IllegalArgumentException("Segment size must be a multiple of 8 larger than the record header: " + segmentSize);
+        }
+        if (flushIntervalNanos <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive: " + flushIntervalNanos);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+        this.flushIntervalNanos = flushIntervalNanos;
+        Files.createDirectories(directory);
+        this.nextIndex = lastSegmentIndex(directory) + 1;
+        this.current = JournalSegment.create(directory, nextIndex++, segmentSize);
+        this.flusher = new Thread(this::runFlusher, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Finds the index of the last segment file in a directory.
+     *
+     * @return The index, or -1 if there is none.
+     */
+    static int lastSegmentIndex(Path directory) throws IOException {
+        int last = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith("journal-") && name.endsWith(".log")) {
+                    try {
+                        last = Math.max(last, Integer.parseInt(name.substring(8, name.length() - 4)));
+                    } catch (NumberFormatException e) {
+                        // not a segment
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Appends the message last parsed by the parser.
+     *
+     * @param data         The raw FIX message byte array.
+     * @param fixParser    The parser holding the parsed message.
+     * @param valid        The result of the parse, i.e. whether the checksum was valid.
+     * @param receiveNanos The {@link System#nanoTime()} at which the message was received.
+     * @throws IOException if a new segment cannot be created or the flusher failed.
+     */
+    public void append(byte[] data, FixParser fixParser, boolean valid, long receiveNanos) throws IOException {
+        append(data, fixParser.getMessageOffset(), fixParser.getMessageLength(), valid ? STATUS_VALID : STATUS_INVALID, receiveNanos);
+    }
+
+    /**
+     * Appends a raw message.
+     *
+     * @param data         The byte array holding the message.
+     * @param offset       The offset of the message.
+     * @param length       The length of the message.
+     * @param status       The record status, e.g. {@link #STATUS_VALID}.
+     * @param receiveNanos The {@link System#nanoTime()} at which the message was received.
+     * @throws IllegalArgumentException if the record does not fit in a segment.
+     * @throws IOException              if a new segment cannot be created or the flusher failed.
+     */
+    public void append(byte[] data, int offset, int length, int status, long receiveNanos) throws IOException {
+        if (flushFailure != null) {
+            throw new IOException("Journal flush failed", flushFailure);
+        }
+        int recordLength = (HEADER_LENGTH + length + 7) & ~7;
+        if (length <= 0 || recordLength > segmentSize) {
+            throw new IllegalArgumentException("Message length " + length + " does not fit in a segment of " + segmentSize);
+        }
+        if (position + recordLength > segmentSize) {
+            roll();
+        }
+        MappedByteBuffer buffer = current.buffer;
+        buffer.put(position + HEADER_LENGTH, data, offset, length);
+        buffer.putInt(position + 4, status);
+        buffer.putLong(position + 8, receiveNanos);
+        buffer.putInt(position + 16, JournalSegment.checksum(crc, length, status, receiveNanos, data, offset));
+        INT.setRelease(buffer, position, length);
+        position += recordLength;
+        current.written.lazySet(position);
+
+        if (++pendingRecords >= flushBatchSize) {
+            pendingRecords = 0;
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    private void roll() throws IOException {
+        JournalSegment next;
+        synchronized (segmentLock) {
+            next = spare;
+            spare = null;
+            if (next == null) {
+                next = JournalSegment.create(directory, nextIndex++, segmentSize);
+            }
+        }
+        current.next = next;
+        current.sealed = true;
+        current = next;
+        position = 0;
+        LockSupport.unpark(flusher);
+    }
+
+    private void runFlusher() {
+        JournalSegment segment = current;
+        try {
+            while (true) {
+                boolean stopping = !running;
+                segment = flushFrom(segment);
+                if (stopping) {
+                    break;
+                }
+                prepareSpare();
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            flushFailure = e instanceof IOException ? (IOException) e : ((UncheckedIOException) e).getCause();
+        }
+    }
+
+    /**
+     * Flushes the given segment and every sealed segment after it, closing the ones fully flushed.
+     *
+     * @return The segment still being written.
+     */
+    private JournalSegment flushFrom(JournalSegment segment) throws IOException {
+        while (true) {
+            // read sealed before flushing, so nothing written before sealing is missed
+            boolean sealed = segment.sealed;
+            segment.flush();
+            if (!sealed) {
+                return segment;
+            }
+            JournalSegment next = segment.next;
+            segment.close();
+            segment = next;
+        }
+    }
+
+    private void prepareSpare() throws IOException {
+        synchronized (segmentLock) {
+            if (spare == null && running) {
+                spare = JournalSegment.create(directory, nextIndex++, segmentSize);
+            }
+        }
+    }
+
+    /**
+     * Stops the flusher after a final flush of every record and closes the segment files.
+     * An unused segment prepared ahead of time is left empty in the directory.
+     *
+     * @throws IOException if the final flush failed or did not finish in time.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing journal", e);
+        }
+        if (flusher.isAlive()) {
+            // the segments are left open, the flusher may still be forcing them
+            throw new IOException("Journal flusher did not finish the final flush");
+        }
+        current.close();
+        synchronized (segmentLock) {
+            if (spare != null) {
+                spare.close();
+            }
+        }
+        if (flushFailure != null) {
+            throw new IOException("Journal flush failed", flushFailure);
+        }
+    }
+}
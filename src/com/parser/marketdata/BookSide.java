@@ -0,0 +1,178 @@
+package com.parser.marketdata;
+
+/**
+ * One side of an {@link OrderBook}: price levels kept sorted best first in preallocated primitive arrays.
+ * Prices and sizes are scaled longs. When the side is full, levels pushed beyond its depth are dropped.
+ */
+public class BookSide {
+    private final long[] prices;
+    private final long[] sizes;
+    private final boolean descending;
+    private int count;
+
+    /**
+     * Constructs a new side.
+     *
+     * @param depth      The maximum number of price levels.
+     * @param descending True for bids (highest price first), false for offers (lowest price first).
+     */
+    BookSide(int depth, boolean descending) {
+        this.prices = new long[depth];
+        this.sizes = new long[depth];
+        this.descending = descending;
+    }
+
+    /**
+     * Returns the number of price levels.
+     *
+     * @return The number of levels.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the maximum number of price levels.
+     *
+     * @return The depth.
+     */
+    public int depth() {
+        return prices.length;
+    }
+
+    /**
+     * Returns the price of a level, 0 being the best.
+     *
+     * @param level The level index.
+     * @return The scaled price.
+     */
+    public long getPrice(int level) {
+        return prices[level];
+    }
+
+    /**
+     * Returns the size of a level, 0 being the best.
+     *
+     * @param level The level index.
+     * @return The scaled size.
+     */
+    public long getSize(int level) {
+        return sizes[level];
+    }
+
+    /**
+     * Removes every level.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Binary search for a price.
+     *
+     * @return The level of the price, or -(insertion level) - 1 if not found.
+     */
+    int find(long price) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midPrice = prices[mid];
+            if (midPrice == price) return mid;
+            boolean before = descending ? midPrice > price : midPrice < price;
+            if (before) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Sets the size of the level at the given price, adding the level if needed.
+     *
+     * @return False if the level is new and falls beyond the depth.
+     */
+    boolean setLevel(long price, long size) {
+        int level = find(price);
+        if (level >= 0) {
+            sizes[level] = size;
+            return true;
+        }
+        return insertAt(-(level + 1), price, size);
+    }
+
+    /**
+     * Removes the level at the given price, if any.
+     */
+    void removeLevel(long price) {
+        int level = find(price);
+        if (level >= 0) {
+            removeAt(level);
+        }
+    }
+
+    /**
+     * Inserts a level at a position, shifting worse levels down.
+     *
+     * @return False if the position is beyond the depth or the existing levels, the level is then dropped.
+     */
+    boolean insertAt(int level, long price, long size) {
+        if (level >= prices.length || level > count) return false;
+        int moved = Math.min(count, prices.length - 1) - level;
+        if (moved > 0) {
+            System.arraycopy(prices, level, prices, level + 1, moved);
+            System.arraycopy(sizes, level, sizes, level + 1, moved);
+        }
+        prices[level] = price;
+        sizes[level] = size;
+        if (count < prices.length) count++;
+        return true;
+    }
+
+    /**
+     * Replaces the price and size of the level at a position.
+     *
+     * @return False if there is no level at the position.
+     */
+    boolean updateAt(int level, long price, long size) {
+        if (level >= count) return false;
+        prices[level] = price;
+        sizes[level] = size;
+        return true;
+    }
+
+    /**
+     * Removes the level at a position, shifting worse levels up.
+     */
+    void removeAt(int level) {
+        if (level >= count) return;
+        int moved = count - level - 1;
+        if (moved > 0) {
+            System.arraycopy(prices, level + 1, prices, level, moved);
+            System.arraycopy(sizes, level + 1, sizes, level, moved);
+        }
+        count--;
+    }
+
+    /**
+     * Removes the levels from the best one through the given position.
+     */
+    void removeThrough(int level) {
+        int removed = Math.min(level + 1, count);
+        int moved = count - removed;
+        if (moved > 0) {
+            System.arraycopy(prices, removed, prices, 0, moved);
+            System.arraycopy(sizes, removed, sizes, 0, moved);
+        }
+        count = moved;
+    }
+
+    /**
+     * Removes the levels from the given position to the worst one.
+     */
+    void removeFrom(int level) {
+        if (level < count) count = level;
+    }
+}
@@ -0,0 +1,51 @@
+package com.parser.marketdata;
+
+/**
+ * Price level book of a single instrument, with bids and offers held in {@link BookSide}s.
+ */
+public class OrderBook {
+    private final int symbolId;
+    private final BookSide bids;
+    private final BookSide offers;
+
+    OrderBook(int symbolId, int depth) {
+        this.symbolId = symbolId;
+        this.bids = new BookSide(depth, true);
+        this.offers = new BookSide(depth, false);
+    }
+
+    /**
+     * Returns the id of the symbol in the builder's symbol interner.
+     *
+     * @return The symbol id.
+     */
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    /**
+     * Returns the bid side, best (highest) price first.
+     *
+     * @return The bids.
+     */
+    public BookSide getBids() {
+        return bids;
+    }
+
+    /**
+     * Returns the offer side, best (lowest) price first.
+     *
+     * @return The offers.
+     */
+    public BookSide getOffers() {
+        return offers;
+    }
+
+    /**
+     * Removes every level of both sides.
+     */
+    public void clear() {
+        bids.clear();
+        offers.clear();
+    }
+}
@@ -0,0 +1,275 @@
+package com.parser.marketdata;
+
+import com.parser.FixParser;
+import com.parser.utils.ByteInterner;
+import com.parser.utils.ByteUtils;
+
+/**
+ * Applies MarketDataSnapshotFullRefresh (35=W) and MarketDataIncrementalRefresh (35=X) messages
+ * to per symbol {@link OrderBook}s.
+ * The message is first parsed by {@link FixParser}; since the parser keeps only the last occurrence
+ * of a repeated tag, the MDEntries group is then walked from the parsed offset of NoMDEntries (268),
+ * converting MDUpdateAction (279), MDEntryType (269), MDEntryPx (270), MDEntrySize (271) and
+ * MDPriceLevel (1023) in place. Books for every symbol are allocated up front, so applying a
+ * message does not allocate.
+ *
+ * <p>Entries with MDPriceLevel are applied by position, others by price. Only bid (269=0) and
+ * offer (269=1) entries are applied.</p>
+ */
+public class OrderBookBuilder {
+    private static final byte SOH = 0x01;
+    private static final byte EQUALS = '=';
+    private static final int CHECKSUM = 10;
+    private static final int MSG_TYPE = 35;
+    private static final int SYMBOL = 55;
+    private static final int NO_MD_ENTRIES = 268;
+    private static final int MD_ENTRY_TYPE = 269;
+    private static final int MD_ENTRY_PX = 270;
+    private static final int MD_ENTRY_SIZE = 271;
+    private static final int MD_UPDATE_ACTION = 279;
+    private static final int MD_PRICE_LEVEL = 1023;
+
+    private static final byte ACTION_NEW = '0';
+    private static final byte ACTION_CHANGE = '1';
+    private static final byte ACTION_DELETE = '2';
+    private static final byte ACTION_DELETE_THRU = '3';
+    private static final byte ACTION_DELETE_FROM = '4';
+    private static final byte ACTION_OVERLAY = '5';
+    private static final byte TYPE_BID = '0';
+    private static final byte TYPE_OFFER = '1';
+
+    private final ByteInterner symbols;
+    private final OrderBook[] books;
+    private final int priceScale;
+    private final int sizeScale;
+
+    // entry being read
+    private int entrySymbol;
+    private byte entryAction;
+    private byte entryType;
+    private long entryPrice;
+    private long entrySize;
+    private int entryLevel;
+
+    /**
+     * Constructs a new builder.
+     *
+     * @param maxNumberOfSymbols The maximum number of distinct symbols.
+     * @param depth              The number of price levels kept per side.
+     * @param priceScale         The number of implied decimal places of prices.
+     * @param sizeScale          The number of implied decimal places of sizes.
+     */
+    public OrderBookBuilder(int maxNumberOfSymbols, int depth, int priceScale, int sizeScale) {
+        this.symbols = new ByteInterner(maxNumberOfSymbols, maxNumberOfSymbols * 32);
+        this.books = new OrderBook[maxNumberOfSymbols];
+        for (int i = 0; i < maxNumberOfSymbols; i++) {
+            books[i] = new OrderBook(i, depth);
+        }
+        this.priceScale = priceScale;
+        this.sizeScale = sizeScale;
+    }
+
+    /**
+     * Applies the parsed message to the books.
+     *
+     * @param data      The raw FIX message byte array.
+     * @param fixParser The parser holding the parsed message.
+     * @return The number of entries applied, or -1 if the message is not a 35=W or 35=X.
+     * @throws RuntimeException      if more symbols are seen than the builder was sized for.
+     * @throws NumberFormatException if a price, size or level cannot be read, e.g. a price with more decimals
+     *                               than the price scale; the books are left untouched.
+     */
+    public int apply(byte[] data, FixParser fixParser) {
+        if (fixParser.fieldDoesNotExists(MSG_TYPE) || fixParser.getLength(MSG_TYPE) != 1
+                || fixParser.fieldDoesNotExists(NO_MD_ENTRIES)) {
+            return -1;
+        }
+        byte msgType = data[fixParser.getOffset(MSG_TYPE)];
+        boolean snapshot;
+        if (msgType == 'W') {
+            snapshot = true;
+        } else if (msgType == 'X') {
+            snapshot = false;
+        } else {
+            return -1;
+        }
+
+        int groupStart = fixParser.getOffset(NO_MD_ENTRIES);
+        boolean hasSymbol = !fixParser.fieldDoesNotExists(SYMBOL) && fixParser.getOffset(SYMBOL) < groupStart;
+        if (snapshot && !hasSymbol) {
+            return 0;
+        }
+        int end = fixParser.getMessageOffset() + fixParser.getMessageLength();
+        // every value is converted once without touching the books or the interner, so that a malformed
+        // entry throws before a snapshot clears the book or the first entries of an update are applied
+        scanEntries(data, groupStart, end, -1, snapshot, false);
+        int symbol = -1;
+        if (hasSymbol) {
+            symbol = symbols.intern(data, fixParser.getOffset(SYMBOL), fixParser.getLength(SYMBOL));
+        }
+        if (snapshot) {
+            books[symbol].clear();
+        }
+        return scanEntries(data, groupStart, end, symbol, snapshot, true);
+    }
+
+    /**
+     * Reads the entries of the repeating group, applying them to the books if requested.
+     * Symbols are only interned when applying.
+     *
+     * @return The number of entries applied.
+     * @throws NumberFormatException if a price, size or level cannot be read.
+     */
+    private int scanEntries(byte[] data, int groupStart, int end, int symbol, boolean snapshot, boolean apply) {
+        // the first tag of an entry delimits entries
+        int delimiter = snapshot ? MD_ENTRY_TYPE : MD_UPDATE_ACTION;
+        int i = groupStart;
+        // skip the NoMDEntries value
+        while (i < end && data[i] != SOH)
+            i++;
+        i++;
+
+        int applied = 0;
+        boolean inEntry = false;
+        resetEntry(symbol);
+        while (i < end) {
+            int tag = 0;
+            byte b;
+            while (i < end && (b = data[i]) != EQUALS) {
+                tag = (tag * 10) + (b - '0');
+                i++;
+            }
+            i++; // skip '='
+            int valueStart = i;
+            while (i < end && data[i] != SOH)
+                i++;
+            int valueLength = i - valueStart;
+            i++; // skip SOH
+
+            if (tag == CHECKSUM) break;
+            if (tag == delimiter) {
+                if (inEntry && apply && applyEntry(snapshot)) applied++;
+                resetEntry(entrySymbol);
+                inEntry = true;
+            }
+            switch (tag) {
+                case MD_UPDATE_ACTION:
+                    entryAction = data[valueStart];
+                    break;
+                case MD_ENTRY_TYPE:
+                    entryType = data[valueStart];
+                    break;
+                case MD_ENTRY_PX:
+                    entryPrice = ByteUtils.readScaledLong(data, valueStart, valueLength, priceScale);
+                    break;
+                case MD_ENTRY_SIZE:
+                    entrySize = ByteUtils.readScaledLong(data, valueStart, valueLength, sizeScale);
+                    break;
+                case MD_PRICE_LEVEL:
+                    entryLevel = ByteUtils.readInt(data, valueStart, valueLength);
+                    break;
+                case SYMBOL:
+                    entrySymbol = apply ? symbols.intern(data, valueStart, valueLength)
+                            : symbols.lookup(data, valueStart, valueLength);
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (inEntry && apply && applyEntry(snapshot)) applied++;
+        return applied;
+    }
+
+    private void resetEntry(int symbol) {
+        entrySymbol = symbol;
+        entryAction = ACTION_NEW;
+        entryType = -1;
+        entryPrice = 0L;
+        entrySize = 0L;
+        entryLevel = 0;
+    }
+
+    /**
+     * Applies the entry that was just read.
+     *
+     * @return True if the entry changed a book, false if it was ignored or fell beyond the depth.
+     */
+    private boolean applyEntry(boolean snapshot) {
+        if (entrySymbol < 0) return false;
+        OrderBook book = books[entrySymbol];
+        BookSide side;
+        if (entryType == TYPE_BID) {
+            side = book.getBids();
+        } else if (entryType == TYPE_OFFER) {
+            side = book.getOffers();
+        } else {
+            return false;
+        }
+
+        byte action = snapshot ? ACTION_NEW : entryAction;
+        if (entryLevel > 0) {
+            int level = entryLevel - 1;
+            switch (action) {
+                case ACTION_NEW:
+                    return side.insertAt(level, entryPrice, entrySize);
+                case ACTION_CHANGE:
+                case ACTION_OVERLAY:
+                    return side.updateAt(level, entryPrice, entrySize);
+                case ACTION_DELETE:
+                    side.removeAt(level);
+                    return true;
+                case ACTION_DELETE_THRU:
+                    side.removeThrough(level);
+                    return true;
+                case ACTION_DELETE_FROM:
+                    side.removeFrom(level);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+        switch (action) {
+            case ACTION_NEW:
+            case ACTION_CHANGE:
+            case ACTION_OVERLAY:
+                return side.setLevel(entryPrice, entrySize);
+            case ACTION_DELETE:
+                side.removeLevel(entryPrice);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the book of a symbol.
+     *
+     * @param data   The byte array holding the symbol.
+     * @param offset The offset of the symbol.
+     * @param length The length of the symbol.
+     * @return The book, or null if no message was applied for the symbol.
+     */
+    public OrderBook getBook(byte[] data, int offset, int length) {
+        int id = symbols.lookup(data, offset, length);
+        return id < 0 ? null : books[id];
+    }
+
+    /**
+     * Returns the book of a symbol id.
+     *
+     * @param symbolId The symbol id.
+     * @return The book.
+     */
+    public OrderBook getBook(int symbolId) {
+        return books[symbolId];
+    }
+
+    /**
+     * Returns the interner assigning symbol ids.
+     *
+     * @return The symbol interner.
+     */
+    public ByteInterner getSymbols() {
+        return symbols;
+    }
+}
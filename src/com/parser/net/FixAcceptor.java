@@ -0,0 +1,88 @@
+package com.parser.net;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Non-blocking acceptor handing incoming connections to a set of {@link FixSessionReader}s
+ * in round-robin order, so many sessions can be spread over a few I/O threads.
+ */
+public class FixAcceptor implements Runnable {
+    private static final long BLOCK_TIMEOUT_MILLIS = 100;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final FixSessionReader[] readers;
+    private volatile boolean running = true;
+    private int nextReader;
+
+    /**
+     * Constructs a new acceptor bound to the given address.
+     *
+     * @param address The address to listen on, port 0 picks a free port.
+     * @param readers The readers to distribute sessions to.
+     * @throws IOException if the address cannot be bound.
+     */
+    public FixAcceptor(InetSocketAddress address, FixSessionReader... readers) throws IOException {
+        if (readers.length == 0) {
+            throw new IllegalArgumentException("At least one reader is required");
+        }
+        this.readers = readers;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Returns the address the acceptor listens on.
+     *
+     * @return The local address.
+     * @throws IOException if the address cannot be read.
+     */
+    public InetSocketAddress getLocalAddress() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Accepts connections until {@link #close()} is called.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                if (selector.select(BLOCK_TIMEOUT_MILLIS) == 0) continue;
+                selector.selectedKeys().clear();
+                SocketChannel channel;
+                while ((channel = serverChannel.accept()) != null) {
+                    channel.socket().setTcpNoDelay(true);
+                    readers[nextReader].register(channel);
+                    nextReader = (nextReader + 1) % readers.length;
+                }
+            }
+        } catch (IOException e) {
+            if (running) throw new UncheckedIOException(e);
+        } finally {
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections. Readers are not closed.
+     */
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+}
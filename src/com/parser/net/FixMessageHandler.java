@@ -0,0 +1,37 @@
+package com.parser.net;
+
+/**
+ * Callback receiving the messages read by a {@link FixSessionReader}.
+ * Calls are made on the I/O thread owning the session; the message bytes and the session's parser
+ * are only valid until the call returns.
+ */
+public interface FixMessageHandler {
+
+    /**
+     * Called for every complete message received on a session.
+     * The message has already been parsed by {@link FixSession#getParser()}.
+     *
+     * @param session The session the message was received on.
+     * @param data    The receive buffer holding the message.
+     * @param offset  The offset of the message in the buffer.
+     * @param length  The length of the message.
+     * @param valid   True if the message passed the parser's validations.
+     */
+    void onMessage(FixSession session, byte[] data, int offset, int length, boolean valid);
+
+    /**
+     * Called once a session is registered with its reader.
+     *
+     * @param session The new session.
+     */
+    default void onSessionOpened(FixSession session) {
+    }
+
+    /**
+     * Called once a session is closed, by the peer or because of an error.
+     *
+     * @param session The closed session.
+     */
+    default void onSessionClosed(FixSession session) {
+    }
+}
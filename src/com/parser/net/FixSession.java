@@ -0,0 +1,140 @@
+package com.parser.net;
+
+import com.parser.FixParser;
+import com.parser.utils.MessageFramer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A connection read by a {@link FixSessionReader}.
+ * Each session owns a reusable heap receive buffer and a parser; messages are framed and parsed
+ * in place in the buffer's backing array, and only a trailing partial message is moved back to the
+ * start of the buffer between reads.
+ */
+public class FixSession {
+    private final int id;
+    private final SocketChannel channel;
+    private final ByteBuffer receiveBuffer;
+    private final byte[] data;
+    private final FixParser parser;
+    private long messagesReceived;
+    private boolean closed;
+    private RuntimeException failure;
+
+    FixSession(int id, SocketChannel channel, int receiveBufferSize, int maxNumberOfFields) {
+        this.id = id;
+        this.channel = channel;
+        this.receiveBuffer = ByteBuffer.allocate(receiveBufferSize);
+        this.data = receiveBuffer.array();
+        this.parser = new FixParser(maxNumberOfFields);
+    }
+
+    /**
+     * Reads what is available on the channel and dispatches every complete message.
+     *
+     * @param handler The handler to dispatch messages to.
+     * @return The number of messages dispatched, or -1 if the session must be closed.
+     * @throws IOException if reading from the channel fails.
+     */
+    int read(FixMessageHandler handler) throws IOException {
+        int read = channel.read(receiveBuffer);
+        if (read < 0) {
+            return -1;
+        }
+
+        int end = receiveBuffer.position();
+        int position = 0;
+        int messages = 0;
+        while (position < end) {
+            int length = MessageFramer.frameLength(data, position, end - position);
+            if (length == MessageFramer.INCOMPLETE) break;
+            if (length == MessageFramer.MALFORMED) return -1;
+            boolean valid = parser.parse(data, position, length);
+            messagesReceived++;
+            messages++;
+            handler.onMessage(this, data, position, length, valid);
+            position += length;
+        }
+
+        // keep the partial message for the next read
+        int remaining = end - position;
+        if (remaining == data.length) {
+            // a single message does not fit in the buffer
+            return -1;
+        }
+        if (position > 0) {
+            System.arraycopy(data, position, data, 0, remaining);
+            receiveBuffer.position(remaining);
+        }
+        return messages;
+    }
+
+    /**
+     * Returns the id of the session, unique within its reader.
+     *
+     * @return The session id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the channel of the session, e.g. for sending messages.
+     *
+     * @return The socket channel.
+     */
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Returns the parser holding the message being dispatched.
+     *
+     * @return The session's parser.
+     */
+    public FixParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Returns the number of messages received on the session.
+     *
+     * @return The message count.
+     */
+    public long getMessagesReceived() {
+        return messagesReceived;
+    }
+
+    /**
+     * Checks if the session is closed.
+     *
+     * @return True if closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the exception thrown while parsing or dispatching a message, which closed the session.
+     *
+     * @return The failure, or null if the session did not fail.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    void fail(RuntimeException failure) {
+        this.failure = failure;
+    }
+
+    void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing more can be done with the channel
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.parser.net;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Non-blocking reader serving many {@link FixSession}s from a single I/O thread.
+ * Channels may be registered from any thread; reading, framing, parsing and dispatching to the
+ * {@link FixMessageHandler} happen on the thread running the reader.
+ */
+public class FixSessionReader implements Runnable {
+    private static final Logger LOGGER = Logger.getLogger(FixSessionReader.class.getName());
+    private static final int DEFAULT_RECEIVE_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAXIMUM_FIELDS_EXPECTED = 200;
+    private static final long BLOCK_TIMEOUT_MILLIS = 100;
+
+    private final Selector selector;
+    private final FixMessageHandler handler;
+    private final SelectMode selectMode;
+    private final int receiveBufferSize;
+    private final int maxNumberOfFields;
+    private final Queue<SocketChannel> pendingChannels = new ConcurrentLinkedQueue<>();
+    private final Consumer<SelectionKey> keyHandler = this::onReady;
+    private volatile boolean running = true;
+    private int nextSessionId;
+    private int sessionCount;
+    private int messagesDispatched;
+
+    /**
+     * Constructs a new reader with default buffer size and number of fields, blocking on select.
+     *
+     * @param handler The handler to dispatch messages to.
+     * @throws IOException if the selector cannot be opened.
+     */
+    public FixSessionReader(FixMessageHandler handler) throws IOException {
+        this(handler, SelectMode.BLOCK, DEFAULT_RECEIVE_BUFFER_SIZE, DEFAULT_MAXIMUM_FIELDS_EXPECTED);
+    }
+
+    /**
+     * Constructs a new reader.
+     *
+     * @param handler           The handler to dispatch messages to.
+     * @param selectMode        Whether to spin or block when waiting for data.
+     * @param receiveBufferSize The size of each session's receive buffer, must hold the largest message.
+     * @param maxNumberOfFields The maximum number of fields of each session's parser.
+     * @throws IOException if the selector cannot be opened.
+     */
+    public FixSessionReader(FixMessageHandler handler, SelectMode selectMode, int receiveBufferSize,
+                            int maxNumberOfFields) throws IOException {
+        this.selector = Selector.open();
+        this.handler = handler;
+        this.selectMode = selectMode;
+        this.receiveBufferSize = receiveBufferSize;
+        this.maxNumberOfFields = maxNumberOfFields;
+    }
+
+    /**
+     * Hands a connected channel over to this reader. Can be called from any thread.
+     *
+     * @param channel The connected channel.
+     */
+    public void register(SocketChannel channel) {
+        pendingChannels.add(channel);
+        selector.wakeup();
+    }
+
+    /**
+     * Runs the reader until {@link #close()} is called.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                doWork();
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    /**
+     * Performs a single select and reads every ready session, for callers driving their own loop.
+     *
+     * @return The number of messages dispatched.
+     */
+    public int doWork() {
+        registerPending();
+        messagesDispatched = 0;
+        try {
+            if (selectMode == SelectMode.SPIN) {
+                selector.selectNow(keyHandler);
+            } else {
+                selector.select(keyHandler, BLOCK_TIMEOUT_MILLIS);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return messagesDispatched;
+    }
+
+    private void registerPending() {
+        SocketChannel channel;
+        while ((channel = pendingChannels.poll()) != null) {
+            FixSession session = new FixSession(nextSessionId++, channel, receiveBufferSize, maxNumberOfFields);
+            try {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, session);
+            } catch (IOException e) {
+                session.close();
+                continue;
+            }
+            sessionCount++;
+            handler.onSessionOpened(session);
+        }
+    }
+
+    private void onReady(SelectionKey key) {
+        FixSession session = (FixSession) key.attachment();
+        int messages;
+        try {
+            messages = session.read(handler);
+        } catch (IOException e) {
+            messages = -1;
+        } catch (RuntimeException e) {
+            // a message the parser or the handler cannot cope with only costs its own session
+            LOGGER.log(Level.WARNING, "Closing session " + session.getId() + " after failure", e);
+            session.fail(e);
+            messages = -1;
+        }
+        if (messages < 0) {
+            closeSession(key, session);
+        } else {
+            messagesDispatched += messages;
+        }
+    }
+
+    private void closeSession(SelectionKey key, FixSession session) {
+        key.cancel();
+        session.close();
+        sessionCount--;
+        handler.onSessionClosed(session);
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            closeSession(key, (FixSession) key.attachment());
+        }
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+    }
+
+    /**
+     * Returns the number of open sessions.
+     *
+     * @return The number of sessions.
+     */
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Stops the reader; the thread running it closes every session before returning.
+     */
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+}
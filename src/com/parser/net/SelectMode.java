@@ -0,0 +1,11 @@
+package com.parser.net;
+
+/**
+ * How an I/O thread waits for network events.
+ */
+public enum SelectMode {
+    /** Polls the selector without blocking, lowest latency at the cost of a busy core. */
+    SPIN,
+    /** Blocks in the selector until a channel is ready. */
+    BLOCK
+}
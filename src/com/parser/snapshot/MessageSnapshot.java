@@ -0,0 +1,199 @@
+package com.parser.snapshot;
+
+import com.parser.FixParser;
+import com.parser.utils.ByteUtils;
+import com.parser.utils.FieldLocationMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pooled copy of a parsed FIX message: the raw bytes along with the location of every field.
+ * A snapshot can be handed to another thread and read there without parsing again.
+ * It is reference counted and goes back to its {@link SnapshotPool} when the last reference is released,
+ * after which it must not be used.
+ */
+public class MessageSnapshot {
+    private final SnapshotPool pool;
+    private final int slot;
+    private final byte[] data;
+    private final FieldLocationMap fieldLocationMap;
+    private final AtomicInteger referenceCount = new AtomicInteger();
+    private int length;
+
+    MessageSnapshot(SnapshotPool pool, int slot, int maxMessageLength, int maxNumberOfFields) {
+        this.pool = pool;
+        this.slot = slot;
+        this.data = new byte[maxMessageLength];
+        this.fieldLocationMap = new FieldLocationMap(maxNumberOfFields);
+    }
+
+    /**
+     * Fills the snapshot from a parsed message and sets the reference count to one.
+     */
+    void fill(byte[] source, FixParser fixParser) {
+        int messageOffset = fixParser.getMessageOffset();
+        length = fixParser.getMessageLength();
+        System.arraycopy(source, messageOffset, data, 0, length);
+        fixParser.copyFieldLocations(fieldLocationMap);
+        fieldLocationMap.rebase(messageOffset);
+        referenceCount.set(1);
+    }
+
+    /**
+     * Adds a reference, e.g. before handing the snapshot to one more consumer.
+     *
+     * @return This snapshot.
+     * @throws IllegalStateException if the snapshot was already returned to the pool.
+     */
+    public MessageSnapshot retain() {
+        int count;
+        do {
+            count = referenceCount.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Snapshot already released");
+            }
+        } while (!referenceCount.compareAndSet(count, count + 1));
+        return this;
+    }
+
+    /**
+     * Releases a reference, returning the snapshot to its pool when none are left.
+     *
+     * @return True if this call returned the snapshot to the pool.
+     * @throws IllegalStateException if the snapshot was already returned to the pool.
+     */
+    public boolean release() {
+        int count = referenceCount.decrementAndGet();
+        if (count == 0) {
+            pool.free(slot);
+            return true;
+        }
+        if (count < 0) {
+            referenceCount.incrementAndGet();
+            throw new IllegalStateException("Snapshot already released");
+        }
+        return false;
+    }
+
+    /**
+     * Returns the current number of references.
+     *
+     * @return The reference count.
+     */
+    public int getReferenceCount() {
+        return referenceCount.get();
+    }
+
+    /**
+     * Returns the copied message bytes. Only the first {@link #getLength()} bytes are valid.
+     *
+     * @return The message bytes.
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Returns the length of the copied message.
+     *
+     * @return The message length in bytes.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Checks if a tag exists in the message.
+     *
+     * @param tag The FIX tag to check.
+     * @return True if the tag does not exist, false otherwise.
+     */
+    public boolean fieldDoesNotExists(int tag) {
+        return !fieldLocationMap.containsKey(tag);
+    }
+
+    /**
+     * Retrieves the index of the tag, throwing a RuntimeException if the tag is not found.
+     */
+    private int checkedIndex(int tag) {
+        int index = fieldLocationMap.getIndex(tag);
+        if (index < 0)
+            throw new RuntimeException("Tag not found in message");
+        return index;
+    }
+
+    /**
+     * Retrieves the offset of the specified tag's value.
+     *
+     * @param tag The FIX tag to retrieve.
+     * @return The offset of the value.
+     */
+    public int getOffset(int tag) {
+        return fieldLocationMap.getOffset(checkedIndex(tag));
+    }
+
+    /**
+     * Retrieves the length of the specified tag's value.
+     *
+     * @param tag The FIX tag to retrieve.
+     * @return The length of the value.
+     */
+    public int getValueLength(int tag) {
+        return fieldLocationMap.getLength(checkedIndex(tag));
+    }
+
+    /**
+     * Reads an int value for the specified FIX tag.
+     *
+     * @param tag The FIX tag to retrieve.
+     * @return The int value for the tag.
+     */
+    public int getInt(int tag) {
+        int index = checkedIndex(tag);
+        return ByteUtils.readInt(data, fieldLocationMap.getOffset(index), fieldLocationMap.getLength(index));
+    }
+
+    /**
+     * Reads a long value for the specified FIX tag.
+     *
+     * @param tag The FIX tag to retrieve.
+     * @return The long value for the tag.
+     */
+    public long getLong(int tag) {
+        int index = checkedIndex(tag);
+        return ByteUtils.readLong(data, fieldLocationMap.getOffset(index), fieldLocationMap.getLength(index));
+    }
+
+    /**
+     * Reads a double value for the specified FIX tag.
+     *
+     * @param tag The FIX tag to retrieve.
+     * @return The double value for the tag.
+     */
+    public double getDouble(int tag) {
+        int index = checkedIndex(tag);
+        return ByteUtils.readDouble(data, fieldLocationMap.getOffset(index), fieldLocationMap.getLength(index));
+    }
+
+    /**
+     * Reads a boolean value for the specified FIX tag.
+     *
+     * @param tag The FIX tag to retrieve.
+     * @return The boolean value for the tag.
+     */
+    public boolean getBoolean(int tag) {
+        return ByteUtils.readBoolean(data, fieldLocationMap.getOffset(checkedIndex(tag)));
+    }
+
+    /**
+     * Copies the raw value for the specified FIX tag to a pre-allocated destination.
+     *
+     * @param tag  The FIX tag to retrieve.
+     * @param dest A reusable pre-allocated byte array.
+     * @return The number of bytes copied.
+     */
+    public int getBytes(int tag, byte[] dest) {
+        int index = checkedIndex(tag);
+        return ByteUtils.readBytes(data, fieldLocationMap.getOffset(index), fieldLocationMap.getLength(index), dest);
+    }
+}
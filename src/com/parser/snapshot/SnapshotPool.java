@@ -0,0 +1,102 @@
+package com.parser.snapshot;
+
+import com.parser.FixParser;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A fixed size pool of {@link MessageSnapshot}s, all allocated up front.
+ * Snapshots are taken on the parsing thread and may be released from any thread;
+ * slots are claimed and freed with compare-and-set, so no locks or allocations are involved.
+ */
+public class SnapshotPool {
+    private static final int FREE = 0;
+    private static final int IN_USE = 1;
+
+    private final MessageSnapshot[] snapshots;
+    private final AtomicIntegerArray states;
+    private final int maxNumberOfFields;
+    private int nextSlot;
+
+    /**
+     * Constructs a new pool.
+     *
+     * @param poolSize          The number of snapshots in the pool, must be positive.
+     * @param maxMessageLength  The maximum length of a message that can be copied.
+     * @param maxNumberOfFields The maximum number of fields, must match the parsers snapshots are taken from.
+     * @throws IllegalArgumentException if the pool size is not positive.
+     */
+    public SnapshotPool(int poolSize, int maxMessageLength, int maxNumberOfFields) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive: " + poolSize);
+        }
+        this.snapshots = new MessageSnapshot[poolSize];
+        this.states = new AtomicIntegerArray(poolSize);
+        this.maxNumberOfFields = maxNumberOfFields;
+        for (int i = 0; i < poolSize; i++) {
+            snapshots[i] = new MessageSnapshot(this, i, maxMessageLength, maxNumberOfFields);
+        }
+    }
+
+    /**
+     * Copies the message last parsed by the parser into a free snapshot.
+     * Only the bytes of the message are copied, wherever it was parsed in the array, e.g. in place in a
+     * receive buffer holding several messages. The snapshot is returned with a reference count of one.
+     *
+     * @param data      The byte array the message was parsed from.
+     * @param fixParser The parser holding the parsed message.
+     * @return The snapshot, or null if every snapshot of the pool is in use.
+     * @throws IllegalArgumentException if the message does not fit in a snapshot.
+     */
+    public MessageSnapshot snapshot(byte[] data, FixParser fixParser) {
+        if (fixParser.getMaxNumberOfFields() != maxNumberOfFields) {
+            throw new IllegalArgumentException("Parser maximum number of fields does not match pool");
+        }
+        if (fixParser.getMessageLength() > snapshots[0].getData().length) {
+            throw new IllegalArgumentException("Message too large for snapshot");
+        }
+        int slot = acquire();
+        if (slot < 0) return null;
+        MessageSnapshot snapshot = snapshots[slot];
+        snapshot.fill(data, fixParser);
+        return snapshot;
+    }
+
+    /**
+     * Claims a free slot, starting the search after the last claimed one.
+     *
+     * @return The slot, or -1 if none is free.
+     */
+    private int acquire() {
+        int poolSize = snapshots.length;
+        for (int i = 0; i < poolSize; i++) {
+            int slot = nextSlot + i;
+            if (slot >= poolSize) slot -= poolSize;
+            if (states.get(slot) == FREE && states.compareAndSet(slot, FREE, IN_USE)) {
+                nextSlot = slot + 1 == poolSize ? 0 : slot + 1;
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a slot to the pool, called once the last reference of its snapshot is released.
+     */
+    void free(int slot) {
+        states.set(slot, FREE);
+    }
+
+    /**
+     * Returns the number of snapshots currently free.
+     *
+     * @return The number of free snapshots.
+     */
+    public int available() {
+        int count = 0;
+        for (int i = 0; i < snapshots.length; i++) {
+            if (states.get(i) == FREE) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,147 @@
+package com.parser.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps byte sequences, such as Symbol values, to small dense int ids.
+ * All storage is allocated up front: the distinct values are copied once into a single byte pool
+ * and looked up through an open addressing table, so interning a known value does not allocate.
+ */
+public class ByteInterner {
+    private static final int EMPTY = -1;
+
+    private final int[] table; // ids, EMPTY when free
+    private final int[] hashes;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final byte[] pool;
+    private final int mask;
+    private int size;
+    private int poolSize;
+
+    /**
+     * Constructs a new ByteInterner.
+     *
+     * @param maxNumberOfValues The maximum number of distinct values.
+     * @param maxTotalLength    The maximum total number of bytes of all distinct values.
+     */
+    public ByteInterner(int maxNumberOfValues, int maxTotalLength) {
+        int tableSize = Integer.highestOneBit(Math.max(2, maxNumberOfValues) * 2 - 1) << 1;
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+        Arrays.fill(table, EMPTY);
+        this.hashes = new int[maxNumberOfValues];
+        this.offsets = new int[maxNumberOfValues];
+        this.lengths = new int[maxNumberOfValues];
+        this.pool = new byte[maxTotalLength];
+    }
+
+    /**
+     * Computes the hash of a byte sequence.
+     */
+    private static int hash(byte[] data, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ data[i]) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Checks if the value with the given id equals the byte sequence.
+     */
+    private boolean equals(int id, byte[] data, int offset, int length) {
+        return lengths[id] == length
+                && Arrays.equals(pool, offsets[id], offsets[id] + length, data, offset, offset + length);
+    }
+
+    /**
+     * Returns the id of the byte sequence, adding it if not seen before.
+     *
+     * @param data   The byte array holding the value.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     * @return The id of the value.
+     * @throws RuntimeException if the interner is full.
+     */
+    public int intern(byte[] data, int offset, int length) {
+        int h = hash(data, offset, length);
+        int index = h & mask;
+        int id;
+        while ((id = table[index]) != EMPTY) {
+            if (hashes[id] == h && equals(id, data, offset, length)) return id;
+            index = (index + 1) & mask;
+        }
+        if (size == offsets.length || poolSize + length > pool.length) {
+            throw new RuntimeException("Cannot store more values, please consider increasing initial capacity");
+        }
+        id = size++;
+        System.arraycopy(data, offset, pool, poolSize, length);
+        hashes[id] = h;
+        offsets[id] = poolSize;
+        lengths[id] = length;
+        poolSize += length;
+        table[index] = id;
+        return id;
+    }
+
+    /**
+     * Returns the id of the byte sequence without adding it.
+     *
+     * @param data   The byte array holding the value.
+     * @param offset The offset of the value.
+     * @param length The length of the value.
+     * @return The id of the value, or -1 if it was never interned.
+     */
+    public int lookup(byte[] data, int offset, int length) {
+        int h = hash(data, offset, length);
+        int index = h & mask;
+        int id;
+        while ((id = table[index]) != EMPTY) {
+            if (hashes[id] == h && equals(id, data, offset, length)) return id;
+            index = (index + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Returns the number of distinct values.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the value with the given id.
+     *
+     * @param id The value id.
+     * @return The length in bytes.
+     */
+    public int getLength(int id) {
+        return lengths[id];
+    }
+
+    /**
+     * Copies the value with the given id to a pre-allocated destination.
+     *
+     * @param id   The value id.
+     * @param dest A reusable pre-allocated byte array.
+     * @return The number of bytes copied.
+     */
+    public int getBytes(int id, byte[] dest) {
+        return ByteUtils.readBytes(pool, offsets[id], lengths[id], dest);
+    }
+
+    /**
+     * Returns the value with the given id as a String. Allocates, not meant for the hot path.
+     *
+     * @param id The value id.
+     * @return The value.
+     */
+    public String toString(int id) {
+        return new String(pool, offsets[id], lengths[id], StandardCharsets.US_ASCII);
+    }
+}
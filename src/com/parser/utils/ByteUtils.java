@@ -1,6 +1,8 @@
 package com.parser.utils;
 
-
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 
 /**
  * Utility class for parsing and extracting primitive data types from byte arrays.
@@ -8,6 +10,10 @@ package com.parser.utils;
  */
 public class ByteUtils {
 
+    private static final VarHandle SHORT_VIEW = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
     /**
      * Extracts an int from a byte array.
      *
@@ -168,4 +174,241 @@ public class ByteUtils {
         return length;
     }
 
+    /**
+     * Extracts a decimal as a long scaled by 10^scale, without going through double.
+     * For example "150.5" with scale 4 is returned as 1505000.
+     *
+     * @param data   The raw FIX message byte array.
+     * @param offset The starting index of the decimal value.
+     * @param length The number of bytes to read.
+     * @param scale  The number of implied decimal places in the result.
+     * @return The parsed value multiplied by 10^scale.
+     * @throws NumberFormatException if the bytes contain invalid characters or more significant
+     *                               decimal places than the scale can hold.
+     */
+    public static long readScaledLong(byte[] data, int offset, int length, int scale) {
+        if (length <= 0) return 0L;
+
+        long result = 0;
+        boolean isNegative = false;
+        int i = offset;
+        int end = offset + length;
+
+        // 1. Handle sign
+        if (data[i] == '-') {
+            isNegative = true;
+            i++;
+        }
+
+        // 2. Integer part
+        while (i < end && data[i] != '.') {
+            byte b = data[i++];
+            if (b < '0' || b > '9') {
+                throw new NumberFormatException("Invalid byte in decimal conversion: " + b);
+            }
+            result = (result << 3) + (result << 1) + (b - '0');
+        }
+
+        // 3. Fractional part, padded or checked against the scale
+        int decimals = 0;
+        if (i < end) {
+            i++; // skip '.'
+            while (i < end) {
+                byte b = data[i++];
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException("Invalid byte in decimal conversion: " + b);
+                }
+                if (decimals < scale) {
+                    result = (result << 3) + (result << 1) + (b - '0');
+                    decimals++;
+                } else if (b != '0') {
+                    throw new NumberFormatException("Decimal value exceeds scale " + scale);
+                }
+            }
+        }
+        for (; decimals < scale; decimals++) {
+            result = (result << 3) + (result << 1);
+        }
+
+        return isNegative ? -result : result;
+    }
+
+    /**
+     * Extracts a FIX UTCTimestamp (YYYYMMDD-HH:MM:SS[.sss]) as milliseconds since the epoch.
+     * Fractions finer than milliseconds are truncated.
+     *
+     * @param data   The raw FIX message byte array.
+     * @param offset The starting index of the timestamp.
+     * @param length The number of bytes to read.
+     * @return The timestamp in epoch milliseconds.
+     * @throws NumberFormatException if the bytes are not a valid timestamp.
+     */
+    public static long readTimestampMillis(byte[] data, int offset, int length) {
+        if (length < 17 || data[offset + 8] != '-' || data[offset + 11] != ':' || data[offset + 14] != ':') {
+            throw new NumberFormatException("Invalid timestamp");
+        }
+        int year = readInt(data, offset, 4);
+        int month = readInt(data, offset + 4, 2);
+        int day = readInt(data, offset + 6, 2);
+        int hours = readInt(data, offset + 9, 2);
+        int minutes = readInt(data, offset + 12, 2);
+        int seconds = readInt(data, offset + 15, 2);
+        int millis = 0;
+        if (length > 17) {
+            if (data[offset + 17] != '.') {
+                throw new NumberFormatException("Invalid timestamp");
+            }
+            int digits = Math.min(length - 18, 3);
+            millis = readInt(data, offset + 18, digits);
+            for (int d = digits; d < 3; d++) {
+                millis *= 10;
+            }
+        }
+
+        // days from civil, proleptic Gregorian calendar
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long epochDay = (long) era * 146097 + dayOfEra - 719468;
+
+        return ((epochDay * 24 + hours) * 60 + minutes) * 60_000L + seconds * 1000L + millis;
+    }
+
+    /**
+     * Writes a long as ASCII digits into a pre-allocated destination.
+     *
+     * @param value  The value to write.
+     * @param dest   The destination byte array.
+     * @param offset The index at which to start writing.
+     * @return The number of bytes written.
+     */
+    public static int writeLong(long value, byte[] dest, int offset) {
+        int i = offset;
+        // Work on the negative value so that Long.MIN_VALUE is handled as well
+        long negative = value;
+        if (value < 0) {
+            dest[i++] = '-';
+        } else {
+            negative = -value;
+        }
+        int digits = 1;
+        for (long v = negative / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        int end = i + digits;
+        for (int p = end - 1; p >= i; p--) {
+            dest[p] = (byte) ('0' - (negative % 10));
+            negative /= 10;
+        }
+        return end - offset;
+    }
+
+    /**
+     * Writes a long scaled by 10^scale as an ASCII decimal into a pre-allocated destination.
+     * Trailing zeros of the fractional part are not written, so 1505000 with scale 4 becomes "150.5".
+     *
+     * @param value  The scaled value to write.
+     * @param scale  The number of implied decimal places in the value.
+     * @param dest   The destination byte array.
+     * @param offset The index at which to start writing.
+     * @return The number of bytes written.
+     */
+    public static int writeScaledLong(long value, int scale, byte[] dest, int offset) {
+        long divisor = 1;
+        for (int s = 0; s < scale; s++) {
+            divisor *= 10;
+        }
+        long integerPart = value / divisor;
+        long fraction = Math.abs(value % divisor);
+
+        int i = offset;
+        if (value < 0 && integerPart == 0) {
+            dest[i++] = '-';
+        }
+        i += writeLong(integerPart, dest, i);
+        if (fraction == 0) {
+            return i - offset;
+        }
+
+        int decimals = scale;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            decimals--;
+        }
+        dest[i++] = '.';
+        for (int p = i + decimals - 1; p >= i; p--) {
+            dest[p] = (byte) ('0' + (fraction % 10));
+            fraction /= 10;
+        }
+        return i + decimals - offset;
+    }
+
+    /**
+     * Reads a little-endian binary short from a byte array.
+     *
+     * @param data   The byte array.
+     * @param offset The index of the first byte.
+     * @return The short value.
+     */
+    public static short readBinaryShort(byte[] data, int offset) {
+        return (short) SHORT_VIEW.get(data, offset);
+    }
+
+    /**
+     * Writes a little-endian binary short into a byte array.
+     *
+     * @param value  The value to write.
+     * @param dest   The destination byte array.
+     * @param offset The index of the first byte.
+     */
+    public static void writeBinaryShort(short value, byte[] dest, int offset) {
+        SHORT_VIEW.set(dest, offset, value);
+    }
+
+    /**
+     * Reads a little-endian binary int from a byte array.
+     *
+     * @param data   The byte array.
+     * @param offset The index of the first byte.
+     * @return The int value.
+     */
+    public static int readBinaryInt(byte[] data, int offset) {
+        return (int) INT_VIEW.get(data, offset);
+    }
+
+    /**
+     * Writes a little-endian binary int into a byte array.
+     *
+     * @param value  The value to write.
+     * @param dest   The destination byte array.
+     * @param offset The index of the first byte.
+     */
+    public static void writeBinaryInt(int value, byte[] dest, int offset) {
+        INT_VIEW.set(dest, offset, value);
+    }
+
+    /**
+     * Reads a little-endian binary long from a byte array.
+     *
+     * @param data   The byte array.
+     * @param offset The index of the first byte.
+     * @return The long value.
+     */
+    public static long readBinaryLong(byte[] data, int offset) {
+        return (long) LONG_VIEW.get(data, offset);
+    }
+
+    /**
+     * Writes a little-endian binary long into a byte array.
+     *
+     * @param value  The value to write.
+     * @param dest   The destination byte array.
+     * @param offset The index of the first byte.
+     */
+    public static void writeBinaryLong(long value, byte[] dest, int offset) {
+        LONG_VIEW.set(dest, offset, value);
+    }
+
 }
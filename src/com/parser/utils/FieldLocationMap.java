@@ -151,6 +151,46 @@ public class FieldLocationMap {
         return size;
     }
 
+    /**
+     * Returns the maximum number of fields the map can store.
+     *
+     * @return The capacity of the map.
+     */
+    public int capacity() {
+        return maxNumberOfFieldsExpected;
+    }
+
+    /**
+     * Copies all entries into another map of the same capacity, replacing its content.
+     * The slot layout is copied as is, so indexes stay valid in the target.
+     *
+     * @param target The map to copy into.
+     * @throws IllegalArgumentException if the target has a different capacity.
+     */
+    public void copyTo(FieldLocationMap target) {
+        if (target.maxNumberOfFieldsExpected != maxNumberOfFieldsExpected) {
+            throw new IllegalArgumentException("Target map capacity does not match");
+        }
+        System.arraycopy(tags, 0, target.tags, 0, maxNumberOfFieldsExpected);
+        System.arraycopy(offsets, 0, target.offsets, 0, maxNumberOfFieldsExpected);
+        System.arraycopy(lengths, 0, target.lengths, 0, maxNumberOfFieldsExpected);
+        System.arraycopy(states, 0, target.states, 0, maxNumberOfFieldsExpected);
+        target.size = size;
+    }
+
+    /**
+     * Moves every offset back by the given base, for when the message is copied to the start of another array.
+     *
+     * @param base The offset of the message in the array it was parsed from.
+     */
+    public void rebase(int base) {
+        for (int i = 0; i < maxNumberOfFieldsExpected; i++) {
+            if (states[i] != 0) {
+                offsets[i] -= base;
+            }
+        }
+    }
+
     /**
      * Clears all entries in the map.
      */
@@ -0,0 +1,71 @@
+package com.parser.utils;
+
+/**
+ * Utility class for finding the boundaries of FIX messages in a stream of bytes.
+ * A message is framed from its BeginString (8) and BodyLength (9) fields: it ends with the
+ * CheckSum (10) field located BodyLength bytes after the BodyLength field.
+ */
+public class MessageFramer {
+    private static final byte SOH = 0x01;
+    private static final byte EQUALS = '=';
+    // "10=" + 3 digits + SOH
+    private static final int CHECKSUM_FIELD_LENGTH = 7;
+    // longest "8=...SOH9=...SOH" accepted before giving up on a garbled header
+    private static final int MAX_HEADER_LENGTH = 64;
+    // keeps the BodyLength well within int range
+    private static final int MAX_BODY_LENGTH_DIGITS = 9;
+
+    /** Returned when the bytes do not hold a complete message yet. */
+    public static final int INCOMPLETE = 0;
+    /** Returned when the bytes cannot be the start of a FIX message. */
+    public static final int MALFORMED = -1;
+
+    /**
+     * Computes the length of the FIX message starting at the given offset.
+     *
+     * @param data   The byte array holding the message.
+     * @param offset The offset of the first byte of the message, which should be the '8' of BeginString.
+     * @param length The number of bytes available from the offset.
+     * @return The length of the message, {@link #INCOMPLETE} if more bytes are needed,
+     * or {@link #MALFORMED} if the bytes are not a FIX message or the message is longer than the array.
+     */
+    public static int frameLength(byte[] data, int offset, int length) {
+        int end = offset + length;
+        int headerLimit = Math.min(end, offset + MAX_HEADER_LENGTH);
+        int i = offset;
+
+        // 1. BeginString
+        if (i < end && data[i] != '8') return MALFORMED;
+        if (i + 1 < end && data[i + 1] != EQUALS) return MALFORMED;
+        while (i < headerLimit && data[i] != SOH)
+            i++;
+        if (i == headerLimit) return headerLimit == end ? INCOMPLETE : MALFORMED;
+        i++; // skip SOH
+
+        // 2. BodyLength
+        if (i < end && data[i] != '9') return MALFORMED;
+        if (i + 1 < end && data[i + 1] != EQUALS) return MALFORMED;
+        i += 2;
+        int digitsStart = i;
+        long bodyLength = 0;
+        while (i < headerLimit && data[i] != SOH) {
+            byte b = data[i++];
+            if (b < '0' || b > '9' || i - digitsStart > MAX_BODY_LENGTH_DIGITS) return MALFORMED;
+            bodyLength = bodyLength * 10 + (b - '0');
+        }
+        if (i >= headerLimit) return headerLimit >= end ? INCOMPLETE : MALFORMED;
+        i++; // skip SOH
+
+        // 3. Body and CheckSum
+        long messageEnd = (long) i + bodyLength + CHECKSUM_FIELD_LENGTH;
+        // a message longer than the whole array can never be completed in it
+        if (messageEnd - offset > data.length) return MALFORMED;
+        if (messageEnd > end) return INCOMPLETE;
+        int checksumStart = (int) (i + bodyLength);
+        if (data[checksumStart] != '1' || data[checksumStart + 1] != '0' || data[checksumStart + 2] != EQUALS
+                || data[(int) messageEnd - 1] != SOH) {
+            return MALFORMED;
+        }
+        return (int) messageEnd - offset;
+    }
+}
@@ -14,7 +14,7 @@ public class ChecksumValidator implements MessageValidator{
 
     /**
      * Validates the checksum of a FIX message.
-     * Computes the checksum by summing all bytes up to the "10=" tag and comparing
+     * Computes the checksum by summing all bytes from the start of the parsed message up to the "10=" tag and comparing
      * it to the declared checksum value in the message.
      *
      * @param data The FIX message as a byte array.
@@ -26,20 +26,28 @@ public class ChecksumValidator implements MessageValidator{
 
             if (fixparser.fieldDoesNotExists(10)) return false;
 
-            // read declared checksum value from message
-            int declared = fixparser.getInt(data, 10);
+            // read declared checksum value from message, without throwing on non-numeric values
+            int valueOffset = fixparser.getOffset(10);
+            int valueLength = fixparser.getLength(10);
+            if (valueLength <= 0) return false;
+            int declared = 0;
+            for (int i = valueOffset; i < valueOffset + valueLength; i++) {
+                byte b = data[i];
+                if (b < '0' || b > '9') return false;
+                declared = declared * 10 + (b - '0');
+            }
 
             // find start of the tag (scan backwards to previous SOH or start)
-            int valueOffset = fixparser.getOffset(10);
+            int messageStart = fixparser.getMessageOffset();
             int tagStart = valueOffset - 1;
-            while (tagStart >= 0 && data[tagStart] != SOH) {
+            while (tagStart >= messageStart && data[tagStart] != SOH) {
                 tagStart--;
             }
             // tagFieldStart = tagStart + 1; we want sum up to tagFieldStart - 1 == tagStart
             int sumEnd = tagStart;
 
             int sum = 0;
-            for (int i = 0; i <= sumEnd; i++) {
+            for (int i = messageStart; i <= sumEnd; i++) {
                 sum += (data[i] & 0xFF);
             }
             int expected = sum % 256;
@@ -0,0 +1,299 @@
+package com.parser;
+
+import com.parser.archive.ArchiveMessageHandler;
+import com.parser.archive.ArchiveQuery;
+import com.parser.archive.ArchiveReader;
+import com.parser.archive.ArchiveWriter;
+import com.parser.batch.BatchExtractor;
+import com.parser.batch.ColumnBatch;
+import com.parser.batch.ColumnSpec;
+import com.parser.binary.BinaryRecordReader;
+import com.parser.binary.BinarySchema;
+import com.parser.binary.BinaryToFixEncoder;
+import com.parser.binary.BinaryTranscoder;
+import com.parser.conflation.ConflatingCache;
+import com.parser.conflation.ConflationConsumer;
+import com.parser.conflation.ConflationHandler;
+import com.parser.dedup.DuplicateFilter;
+import com.parser.dedup.FingerprintWindow;
+import com.parser.dedup.MessageFingerprint;
+import com.parser.journal.JournalWriter;
+import com.parser.dictionary.ExecType;
+import com.parser.dictionary.MsgType;
+import com.parser.dictionary.OrdStatus;
+import com.parser.dictionary.Side;
+import com.parser.marketdata.OrderBookBuilder;
+import com.parser.snapshot.MessageSnapshot;
+import com.parser.snapshot.SnapshotPool;
+import com.parser.utils.ByteInterner;
+import com.parser.utils.ByteUtils;
+import com.parser.utils.MessageFramer;
+import com.parser.validate.ChecksumValidator;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Checks that hot path operations do not allocate, by measuring the bytes allocated by the current thread
+ * with {@link com.sun.management.ThreadMXBean} over many calls after a warm-up.
+ * Any new encode or decode path is expected to be added here.
+ */
+@RunWith(JUnit4.class)
+public class AllocationTest {
+    private static final int WARM_UP_ITERATIONS = 50_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static final byte[] EXECUTION_REPORT = ("8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INVALID_CHECKSUM = ("8=FIX.4.4\u00019=148\u000135=D\u000134=1080\u000149=TEST1111\u000152=20260107-18:14:19.508\u000156=TESTLEG11\u000111=636730640278898634\u000115=USD\u000121=2\u000138=7000\u000140=1\u000154=1\u000155=MSFT\u000160=20260107-18:14:19.492\u000110=093\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MISSING_CHECKSUM = ("8=FIX.4.4\u00019=148\u000135=D\u000134=1080\u000149=TEST1111\u000155=MSFT\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NON_NUMERIC_CHECKSUM = ("8=FIX.4.4\u00019=148\u000135=D\u000134=1080\u000149=TEST1111\u000155=MSFT\u000110=ABC\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final FixParser fixParser = new FixParser();
+    private final byte[] dest = new byte[512];
+    private long sink;
+
+    /**
+     * An operation under measurement, returning a value so that it cannot be optimised away.
+     */
+    private interface Operation {
+        long run();
+    }
+
+    /**
+     * Returns the average number of bytes allocated per call of the operation, once warmed up.
+     */
+    private double bytesPerOperation(Operation operation) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        // measuring an empty loop cancels out whatever the measurement itself allocates
+        long overhead = allocatedBytes(() -> 0L);
+        return (double) (allocatedBytes(operation) - overhead) / ITERATIONS;
+    }
+
+    private long allocatedBytes(Operation operation) {
+        long start = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        return threadMXBean.getCurrentThreadAllocatedBytes() - start;
+    }
+
+    private void assertNoAllocation(String name, Operation operation) {
+        Assume.assumeTrue("Thread allocation measurement not supported",
+                threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+        double bytes = bytesPerOperation(operation);
+        // anything below one byte per call is measurement noise, a real allocation is at least 16 bytes
+        Assert.assertTrue(name + " allocated " + bytes + " bytes per operation", bytes < 1.0);
+    }
+
+    @Test
+    public void parseDoesNotAllocate() {
+        assertNoAllocation("parse", () -> fixParser.parse(EXECUTION_REPORT) ? 1 : 0);
+    }
+
+    @Test
+    public void framingAndParseAtOffsetDoNotAllocate() {
+        assertNoAllocation("frameLength", () -> MessageFramer.frameLength(EXECUTION_REPORT, 0, EXECUTION_REPORT.length));
+        assertNoAllocation("parse at offset", () -> fixParser.parse(EXECUTION_REPORT, 0, EXECUTION_REPORT.length) ? 1 : 0);
+    }
+
+    @Test
+    public void incrementalParseDoesNotAllocate() {
+        IncrementalFixParser incremental = new IncrementalFixParser();
+        assertNoAllocation("incremental parse", () -> {
+            incremental.reset();
+            incremental.append(EXECUTION_REPORT, 0, 100);
+            incremental.append(EXECUTION_REPORT, 100, EXECUTION_REPORT.length - 100);
+            return incremental.isValid() ? 1 : 0;
+        });
+    }
+
+    @Test
+    public void accessorsDoNotAllocate() {
+        Assert.assertTrue(fixParser.parse(EXECUTION_REPORT));
+        assertNoAllocation("getInt", () -> fixParser.getInt(EXECUTION_REPORT, 9));
+        assertNoAllocation("getLong", () -> fixParser.getLong(EXECUTION_REPORT, 151));
+        assertNoAllocation("getDouble", () -> (long) fixParser.getDouble(EXECUTION_REPORT, 44));
+        assertNoAllocation("getBoolean", () -> fixParser.getBoolean(EXECUTION_REPORT, 54) ? 1 : 0);
+        assertNoAllocation("getBytes into destination", () -> fixParser.getBytes(EXECUTION_REPORT, 55, dest));
+        assertNoAllocation("getOffset", () -> fixParser.getOffset(55));
+        assertNoAllocation("getLength", () -> fixParser.getLength(55));
+        assertNoAllocation("fieldDoesNotExists", () -> fixParser.fieldDoesNotExists(100) ? 1 : 0);
+        assertNoAllocation("getEnum ordinal", () -> fixParser.getEnum(EXECUTION_REPORT, 39, OrdStatus.MAPPER.getDecoder()));
+        assertNoAllocation("getEnum constant", () -> fixParser.getEnum(EXECUTION_REPORT, 150, ExecType.MAPPER).ordinal()
+                + fixParser.getEnum(EXECUTION_REPORT, 54, Side.MAPPER).ordinal()
+                + fixParser.getEnum(EXECUTION_REPORT, 35, MsgType.MAPPER).ordinal());
+    }
+
+    @Test
+    public void byteUtilsDoNotAllocate() {
+        Assert.assertTrue(fixParser.parse(EXECUTION_REPORT));
+        int priceOffset = fixParser.getOffset(44);
+        int sendingTimeOffset = fixParser.getOffset(52);
+        assertNoAllocation("readScaledLong", () -> ByteUtils.readScaledLong(EXECUTION_REPORT, priceOffset, 2, 4));
+        assertNoAllocation("readTimestampMillis", () -> ByteUtils.readTimestampMillis(EXECUTION_REPORT, sendingTimeOffset, 21));
+        assertNoAllocation("writeScaledLong", () -> ByteUtils.writeScaledLong(-1505000L, 4, dest, 0));
+    }
+
+    @Test
+    public void checksumValidatorDoesNotAllocate() {
+        ChecksumValidator validator = new ChecksumValidator();
+        FixParser valid = new FixParser();
+        valid.parse(EXECUTION_REPORT);
+        FixParser invalid = new FixParser();
+        invalid.parse(INVALID_CHECKSUM);
+        FixParser missing = new FixParser();
+        missing.parse(MISSING_CHECKSUM);
+        FixParser nonNumeric = new FixParser();
+        nonNumeric.parse(NON_NUMERIC_CHECKSUM);
+
+        assertNoAllocation("valid checksum", () -> validator.validate(EXECUTION_REPORT, valid) ? 1 : 0);
+        assertNoAllocation("invalid checksum", () -> validator.validate(INVALID_CHECKSUM, invalid) ? 1 : 0);
+        assertNoAllocation("missing checksum", () -> validator.validate(MISSING_CHECKSUM, missing) ? 1 : 0);
+        assertNoAllocation("non-numeric checksum", () -> validator.validate(NON_NUMERIC_CHECKSUM, nonNumeric) ? 1 : 0);
+    }
+
+    @Test
+    public void binaryTranscodingDoesNotAllocate() {
+        BinaryTranscoder transcoder = new BinaryTranscoder()
+                .register(new BinarySchema(1, "8", 8)
+                        .addString(49, 8).addString(11, 20).addChar(54).addDecimal(38, 4)
+                        .addDecimal(44, 4).addString(55, 8).addInt(34));
+        BinaryRecordReader reader = new BinaryRecordReader(transcoder);
+        BinaryToFixEncoder encoder = new BinaryToFixEncoder("FIX.4.2");
+        byte[] record = new byte[256];
+        Assert.assertTrue(fixParser.parse(EXECUTION_REPORT));
+        transcoder.encode(EXECUTION_REPORT, fixParser, record, 0);
+
+        assertNoAllocation("binary encode", () -> transcoder.encode(EXECUTION_REPORT, fixParser, record, 0));
+        assertNoAllocation("binary read", () -> reader.wrap(record, 0).getDecimal(44) + reader.getChar(54));
+        assertNoAllocation("binary read string", () -> reader.wrap(record, 0).getString(55, dest));
+        assertNoAllocation("binary to FIX", () -> encoder.encode(reader.wrap(record, 0), dest, 0));
+    }
+
+    @Test
+    public void snapshotsDoNotAllocate() {
+        SnapshotPool pool = new SnapshotPool(2, 512, 200);
+        Assert.assertTrue(fixParser.parse(EXECUTION_REPORT));
+
+        assertNoAllocation("snapshot and release", () -> {
+            MessageSnapshot snapshot = pool.snapshot(EXECUTION_REPORT, fixParser);
+            long value = snapshot.getLong(151) + snapshot.getBytes(55, dest);
+            snapshot.release();
+            return value;
+        });
+    }
+
+    @Test
+    public void orderBookUpdatesDoNotAllocate() {
+        OrderBookBuilder builder = new OrderBookBuilder(4, 10, 4, 0);
+        byte[] incremental = ("8=FIX.4.4\u00019=110\u000135=X\u0001268=2\u0001279=0\u0001269=0\u000155=MSFT\u0001270=100.5\u0001271=200\u0001"
+                + "279=2\u0001269=0\u000155=MSFT\u0001270=100.5\u0001271=200\u000110=000\u0001").getBytes(StandardCharsets.US_ASCII);
+        fixParser.parse(incremental);
+
+        assertNoAllocation("order book incremental", () -> builder.apply(incremental, fixParser));
+    }
+
+    @Test
+    public void conflationDoesNotAllocate() {
+        ColumnSpec spec = new ColumnSpec().addDecimal(44, 4).addLong(151).addChar(39);
+        ConflatingCache cache = new ConflatingCache(spec, 16, 256);
+        ConflationConsumer consumer = cache.newConsumer();
+        ConflationHandler handler = (c, keyId) -> { };
+        Assert.assertTrue(fixParser.parse(EXECUTION_REPORT));
+
+        assertNoAllocation("conflation update", () -> cache.update(EXECUTION_REPORT, fixParser));
+        assertNoAllocation("conflation update and drain", () -> {
+            cache.update(EXECUTION_REPORT, fixParser);
+            return consumer.drain(handler);
+        });
+    }
+
+    @Test
+    public void duplicateDetectionDoesNotAllocate() {
+        DuplicateFilter filter = new DuplicateFilter(new MessageFingerprint(11, 150, 14), new FingerprintWindow(1024));
+        Assert.assertTrue(fixParser.parse(EXECUTION_REPORT));
+
+        long[] now = {0};
+        assertNoAllocation("duplicate filter", () -> filter.isDuplicate(EXECUTION_REPORT, fixParser, now[0]++) ? 1 : 0);
+    }
+
+    @Test
+    public void journalAppendDoesNotAllocate() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        try {
+            // large enough for every append of the test, rolling over to a new segment allocates
+            try (JournalWriter writer = new JournalWriter(directory, 64 << 20, 64, TimeUnit.MILLISECONDS.toNanos(1))) {
+                boolean valid = fixParser.parse(EXECUTION_REPORT);
+                assertNoAllocation("journal append", () -> {
+                    try {
+                        writer.append(EXECUTION_REPORT, fixParser, valid, 0);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return 1;
+                });
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void archiveScanDoesNotAllocate() throws IOException {
+        Path path = Files.createTempFile("archive", ".fixa");
+        try {
+            try (ArchiveWriter writer = new ArchiveWriter(path, 4 * 1024, 1)) {
+                for (int i = 0; i < 64; i++) {
+                    writer.append(EXECUTION_REPORT, 0, EXECUTION_REPORT.length);
+                }
+            }
+            try (ArchiveReader reader = new ArchiveReader(path)) {
+                ArchiveQuery query = new ArchiveQuery().msgType("8");
+                long[] quantity = {0};
+                ArchiveMessageHandler handler = (data, offset, length, parser) -> quantity[0] += parser.getInt(data, 38);
+                assertNoAllocation("archive decompress and scan", () -> reader.scan(query, handler));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void batchExtractionDoesNotAllocate() {
+        ByteInterner symbols = new ByteInterner(16, 256);
+        ColumnSpec spec = new ColumnSpec().addId(55, symbols).addChar(54).addLong(38)
+                .addDecimal(44, 4).addLong(32).addDecimal(31, 4).addTimestamp(52);
+        BatchExtractor extractor = new BatchExtractor(spec);
+        ColumnBatch batch = new ColumnBatch(spec, 16);
+        byte[][] messages = {EXECUTION_REPORT, EXECUTION_REPORT, EXECUTION_REPORT, EXECUTION_REPORT};
+
+        assertNoAllocation("batch extract", () -> {
+            batch.clear();
+            return extractor.extract(messages, 0, messages.length, batch);
+        });
+    }
+}
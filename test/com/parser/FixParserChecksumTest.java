@@ -38,4 +38,13 @@ public class FixParserChecksumTest {
                 .getBytes(StandardCharsets.US_ASCII);
         Assert.assertFalse(fixparser.parse(rawFix));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void validateChecksumReturnsTrueForMessageAtOffset() {
+        byte[] rawFix = ("XXXX8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001YY")
+                .getBytes(StandardCharsets.US_ASCII);
+        Assert.assertTrue(fixparser.parse(rawFix, 4, rawFix.length - 6));
+        Assert.assertEquals(4, fixparser.getMessageOffset());
+        Assert.assertEquals(15, fixparser.getInt(rawFix, 38));
+    }
+}
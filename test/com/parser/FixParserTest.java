@@ -37,6 +37,17 @@ public class FixParserTest {
 
     }
 
+    @Test
+    public void testGetBytesIntoDestination() {
+        byte[] rawFix = "8=FIX.4.4\u00019=148\u000135=D\u000155=MSFT\u000110=092\u0001".getBytes(StandardCharsets.US_ASCII);
+        fixparser.parse(rawFix);
+
+        byte[] dest = new byte[8];
+        Assert.assertEquals(4, fixparser.getBytes(rawFix, 55, dest));
+        Assert.assertEquals("MSFT", new String(dest, 0, 4, StandardCharsets.US_ASCII));
+        Assert.assertThrows(RuntimeException.class, () -> fixparser.getBytes(rawFix, 60, dest));
+    }
+
     private String str(byte[] data){
         return new String(data, StandardCharsets.UTF_8);
     }
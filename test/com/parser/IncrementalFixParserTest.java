@@ -0,0 +1,90 @@
+package com.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+
+@RunWith(JUnit4.class)
+public class IncrementalFixParserTest {
+    private static final byte[] EXECUTION_REPORT = ("8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final IncrementalFixParser parser = new IncrementalFixParser();
+
+    @Test
+    public void parsesMessageSplitAtEveryPosition() {
+        for (int split = 1; split < EXECUTION_REPORT.length; split++) {
+            parser.reset();
+            // second fragment comes from a different buffer
+            byte[] second = new byte[EXECUTION_REPORT.length - split];
+            System.arraycopy(EXECUTION_REPORT, split, second, 0, second.length);
+
+            Assert.assertEquals(split, parser.append(EXECUTION_REPORT, 0, split));
+            Assert.assertFalse(parser.isComplete());
+            Assert.assertEquals(second.length, parser.append(second, 0, second.length));
+            Assert.assertTrue("split at " + split, parser.isComplete() && parser.isValid());
+            Assert.assertEquals(15, parser.getParser().getInt(parser.getData(), 38));
+            Assert.assertEquals(178, parser.getParser().getInt(parser.getData(), 9));
+        }
+    }
+
+    @Test
+    public void parsesMessageOneByteAtATime() {
+        for (int i = 0; i < EXECUTION_REPORT.length; i++) {
+            Assert.assertEquals(1, parser.append(EXECUTION_REPORT, i, 1));
+        }
+        Assert.assertTrue(parser.isValid());
+        Assert.assertEquals(EXECUTION_REPORT.length, parser.getLength());
+        Assert.assertEquals(EXECUTION_REPORT.length, parser.getParser().getMessageLength());
+    }
+
+    @Test
+    public void completedFieldsAreAvailableBeforeMessageEnds() {
+        parser.append(EXECUTION_REPORT, 0, 30);
+        Assert.assertFalse(parser.isComplete());
+        Assert.assertEquals(178, parser.getParser().getInt(parser.getData(), 9));
+        Assert.assertTrue(parser.getParser().fieldDoesNotExists(38));
+    }
+
+    @Test
+    public void appendStopsAtEndOfMessage() {
+        byte[] twoMessages = new byte[EXECUTION_REPORT.length * 2];
+        System.arraycopy(EXECUTION_REPORT, 0, twoMessages, 0, EXECUTION_REPORT.length);
+        System.arraycopy(EXECUTION_REPORT, 0, twoMessages, EXECUTION_REPORT.length, EXECUTION_REPORT.length);
+
+        int consumed = parser.append(twoMessages, 0, twoMessages.length);
+        Assert.assertEquals(EXECUTION_REPORT.length, consumed);
+        Assert.assertTrue(parser.isValid());
+        Assert.assertThrows(IllegalStateException.class, () -> parser.append(twoMessages, consumed, 1));
+
+        parser.reset();
+        Assert.assertEquals(EXECUTION_REPORT.length, parser.append(twoMessages, consumed, twoMessages.length - consumed));
+        Assert.assertTrue(parser.isValid());
+    }
+
+    @Test
+    public void invalidChecksumIsComplete() {
+        byte[] rawFix = new String(EXECUTION_REPORT, StandardCharsets.US_ASCII).replace("10=128", "10=129")
+                .getBytes(StandardCharsets.US_ASCII);
+        parser.append(rawFix, 0, rawFix.length);
+        Assert.assertTrue(parser.isComplete());
+        Assert.assertFalse(parser.isValid());
+
+        parser.reset();
+        byte[] nonNumeric = "8=FIX.4.2\u00019=5\u000135=0\u000110=ABC\u0001".getBytes(StandardCharsets.US_ASCII);
+        parser.append(nonNumeric, 0, nonNumeric.length);
+        Assert.assertTrue(parser.isComplete());
+        Assert.assertFalse(parser.isValid());
+    }
+
+    @Test
+    public void appendThrowsOnInvalidInput() {
+        IncrementalFixParser small = new IncrementalFixParser(16, 10);
+        Assert.assertThrows(RuntimeException.class, () -> small.append(EXECUTION_REPORT, 0, EXECUTION_REPORT.length));
+        Assert.assertThrows(NumberFormatException.class,
+                () -> parser.append("8=FIX\u0001A=1".getBytes(StandardCharsets.US_ASCII), 0, 9));
+    }
+}
@@ -0,0 +1,217 @@
+package com.parser.archive;
+
+import com.parser.utils.ByteUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class ArchiveTest {
+    private static final int MESSAGES = 10_000;
+    // 2026-01-07 00:00:00 UTC
+    private static final long START_TIME = 1767744000000L;
+
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("archive", ".fixa");
+        try (ArchiveWriter writer = new ArchiveWriter(path, 16 * 1024, 2)) {
+            for (int seq = 1; seq <= MESSAGES; seq++) {
+                byte[] message = message(seq);
+                writer.append(message, 0, message.length);
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void scanReturnsEveryMessageInOrder() throws IOException {
+        try (ArchiveReader reader = new ArchiveReader(path)) {
+            assertTrue(reader.getBlockCount() > 10);
+            assertTrue("archive should be smaller than its content", Files.size(path) < MESSAGES * 100L);
+
+            long[] expectedSeq = {1};
+            long matched = reader.scan(new ArchiveQuery(), (data, offset, length, fixParser) -> {
+                assertEquals(expectedSeq[0]++, fixParser.getLong(data, 34));
+                assertEquals(offset, fixParser.getMessageOffset());
+            });
+            assertEquals(MESSAGES, matched);
+        }
+    }
+
+    @Test
+    public void blocksCarrySeqNumTimeAndMsgTypeMetadata() throws IOException {
+        try (ArchiveReader reader = new ArchiveReader(path)) {
+            BlockMetadata first = reader.getBlock(0);
+            assertEquals(1, first.getMinSeqNum());
+            assertEquals(first.getMessageCount(), first.getMaxSeqNum());
+            assertEquals(START_TIME + 1000, first.getMinTime());
+            assertEquals(START_TIME + first.getMessageCount() * 1000L, first.getMaxTime());
+            assertEquals((1L << 8) | (1L << 13), first.getMsgTypes());
+
+            int messages = 0;
+            for (int i = 0; i < reader.getBlockCount(); i++) {
+                messages += reader.getBlock(i).getMessageCount();
+            }
+            assertEquals(MESSAGES, messages);
+        }
+    }
+
+    @Test
+    public void scanSkipsBlocksOutsideQuery() throws IOException {
+        try (ArchiveReader reader = new ArchiveReader(path)) {
+            ArchiveQuery query = new ArchiveQuery().seqNumRange(5000, 5009);
+            int candidates = 0;
+            for (int i = 0; i < reader.getBlockCount(); i++) {
+                if (query.mayMatch(reader.getBlock(i))) candidates++;
+            }
+            assertTrue(candidates <= 2);
+            assertEquals(10, reader.scan(query, (data, offset, length, fixParser) -> { }));
+
+            ArchiveQuery timeAndType = new ArchiveQuery().timeRange(START_TIME + 101_000, START_TIME + 200_000).msgType("D");
+            assertEquals(50, reader.scan(timeAndType, (data, offset, length, fixParser) ->
+                    assertEquals('D', data[fixParser.getOffset(35)])));
+
+            assertEquals(0, reader.scan(new ArchiveQuery().msgType("W"), (data, offset, length, fixParser) -> { }));
+        }
+    }
+
+    @Test
+    public void parallelScanMatchesSequentialScan() throws Exception {
+        try (ArchiveReader reader = new ArchiveReader(path)) {
+            AtomicLong quantity = new AtomicLong();
+            long matched = reader.scan(new ArchiveQuery().msgType("8"),
+                    (data, offset, length, fixParser) -> quantity.addAndGet(fixParser.getLong(data, 38)), 4);
+            assertEquals(MESSAGES / 2, matched);
+            assertEquals(MESSAGES / 2 * 100L, quantity.get());
+        }
+    }
+
+    @Test
+    public void deflateCodecFitsIncompressibleLargeBlocks() {
+        DeflateCodec codec = new DeflateCodec();
+        Random random = new Random(42);
+        for (int size : new int[]{16 * 1024, 1 << 20, 4 << 20}) {
+            byte[] block = new byte[size];
+            random.nextBytes(block);
+            byte[] compressed = new byte[codec.maxCompressedLength(size)];
+            int compressedLength = codec.compress(block, 0, size, compressed, 0);
+            byte[] restored = new byte[size];
+            assertEquals(size, codec.decompress(compressed, 0, compressedLength, restored, 0));
+            assertArrayEquals(block, restored);
+        }
+    }
+
+    /**
+     * Counts the codecs created and closed.
+     */
+    private static final class TrackingCodec extends DeflateCodec {
+        static final AtomicInteger created = new AtomicInteger();
+        static final AtomicInteger closed = new AtomicInteger();
+
+        TrackingCodec() {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            closed.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void codecsAreClosedByWriterReaderAndScanWorkers() throws Exception {
+        TrackingCodec.created.set(0);
+        TrackingCodec.closed.set(0);
+        try (ArchiveWriter writer = new ArchiveWriter(path, 4 * 1024, 2, TrackingCodec::new)) {
+            for (int seq = 1; seq <= 200; seq++) {
+                byte[] message = message(seq);
+                writer.append(message, 0, message.length);
+            }
+        }
+        assertEquals(3, TrackingCodec.created.get());
+        assertEquals(3, TrackingCodec.closed.get());
+
+        try (ArchiveReader reader = new ArchiveReader(path, TrackingCodec::new)) {
+            assertEquals(200, reader.scan(new ArchiveQuery(), (data, offset, length, fixParser) -> { }, 3));
+            assertEquals(6, TrackingCodec.closed.get());
+            assertEquals(200, reader.scan(new ArchiveQuery(), (data, offset, length, fixParser) -> { }));
+        }
+        assertEquals(7, TrackingCodec.created.get());
+        assertEquals(7, TrackingCodec.closed.get());
+    }
+
+    @Test
+    public void malformedMessageIsNotAddedToBlock() throws IOException {
+        try (ArchiveWriter writer = new ArchiveWriter(path, 16 * 1024, 1)) {
+            byte[] first = message(1);
+            writer.append(first, 0, first.length);
+            // same length, so still framed by its BodyLength, but MsgSeqNum cannot be read
+            byte[] malformed = new String(message(2), StandardCharsets.US_ASCII).replace("34=2", "34=X")
+                    .getBytes(StandardCharsets.US_ASCII);
+            assertThrows(NumberFormatException.class, () -> writer.append(malformed, 0, malformed.length));
+            byte[] retry = message(2);
+            writer.append(retry, 0, retry.length);
+        }
+        try (ArchiveReader reader = new ArchiveReader(path)) {
+            assertEquals(2, reader.getBlock(0).messageCount);
+            assertEquals(message(1).length + message(2).length, reader.getBlock(0).uncompressedLength);
+            long[] expectedSeq = {1};
+            assertEquals(2, reader.scan(new ArchiveQuery(), (data, offset, length, fixParser) ->
+                    assertEquals(expectedSeq[0]++, fixParser.getLong(data, 34))));
+        }
+    }
+
+    @Test
+    public void writerRejectsUnframedMessagesAndReaderRejectsOtherFiles() throws IOException {
+        try (ArchiveWriter writer = new ArchiveWriter(path, 1024, 1)) {
+            byte[] unframed = "8=FIX.4.4\u00019=1\u000135=D\u000110=000\u0001".getBytes(StandardCharsets.US_ASCII);
+            assertThrows(IllegalArgumentException.class, () -> writer.append(unframed, 0, unframed.length));
+        }
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> new ArchiveReader(path));
+    }
+
+    /**
+     * Builds alternating orders and execution reports one second apart.
+     */
+    private static byte[] message(int seq) {
+        String sendingTime = timestamp(START_TIME + seq * 1000L);
+        String body = "35=" + (seq % 2 == 0 ? "8" : "D") + "\u000134=" + seq + "\u000149=CLIENT\u000152=" + sendingTime
+                + "\u000155=MSFT\u000154=1\u000138=100\u000144=15.25\u0001";
+        String message = "8=FIX.4.4\u00019=" + body.length() + "\u0001" + body;
+        int sum = 0;
+        for (int i = 0; i < message.length(); i++) {
+            sum += message.charAt(i);
+        }
+        return (message + String.format("10=%03d\u0001", sum % 256)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String timestamp(long millis) {
+        String value = DateTimeFormatter.ofPattern("yyyyMMdd-HH:mm:ss.SSS")
+                .withZone(ZoneOffset.UTC).format(Instant.ofEpochMilli(millis));
+        assertEquals(millis, ByteUtils.readTimestampMillis(value.getBytes(StandardCharsets.US_ASCII), 0, value.length()));
+        return value;
+    }
+}
@@ -0,0 +1,94 @@
+package com.parser.batch;
+
+import com.parser.utils.ByteInterner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class BatchExtractorTest {
+    private static final String EXECUTION_REPORT = "8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001";
+    private static final String FILL = "8=FIX.4.4\u00019=120\u000135=8\u000155=IBM\u000154=2\u000138=300\u000144=101.25\u000132=100\u000131=101.5\u000160=20260107-18:14:19.492\u000110=000\u0001";
+
+    private final ByteInterner symbols = new ByteInterner(16, 256);
+    private final ColumnSpec spec = new ColumnSpec()
+            .addId(55, symbols).addChar(54).addLong(38).addDecimal(44, 4)
+            .addLong(32).addDecimal(31, 4).addTimestamp(60);
+    private final BatchExtractor extractor = new BatchExtractor(spec);
+
+    @Test
+    public void extractFillsColumnsFromMessageArray() {
+        ColumnBatch batch = new ColumnBatch(spec, 8);
+        byte[][] messages = {bytes(EXECUTION_REPORT), bytes(FILL), bytes(EXECUTION_REPORT)};
+
+        assertEquals(3, extractor.extract(messages, 0, 3, batch));
+        assertEquals(3, batch.size());
+
+        int[] symbol = batch.getIntColumn(spec.getColumn(55));
+        assertEquals(symbol[0], symbol[2]);
+        assertEquals("IBM", symbols.toString(symbol[1]));
+        assertEquals('2', batch.getIntColumn(spec.getColumn(54))[1]);
+        assertEquals(300L, batch.getLongColumn(spec.getColumn(38))[1]);
+        assertEquals(1012500L, batch.getLongColumn(spec.getColumn(44))[1]);
+        assertEquals(1015000L, batch.getLongColumn(spec.getColumn(31))[1]);
+        assertEquals(1767809659492L, batch.getLongColumn(spec.getColumn(60))[1]);
+    }
+
+    @Test
+    public void absentTagsAreNullAndZero() {
+        ColumnBatch batch = new ColumnBatch(spec, 8);
+        extractor.extract(new byte[][]{bytes(EXECUTION_REPORT), bytes(FILL)}, 0, 2, batch);
+
+        int timestamp = spec.getColumn(60);
+        assertTrue(batch.isNull(timestamp, 0));
+        assertFalse(batch.isNull(timestamp, 1));
+        assertEquals(0L, batch.getLongColumn(timestamp)[0]);
+        assertEquals(1L, batch.getNullBitmap(timestamp)[0]);
+        assertThrows(IllegalArgumentException.class, () -> batch.getIntColumn(timestamp));
+    }
+
+    @Test
+    public void extractFromFramedBufferStopsAtIncompleteMessage() {
+        String partial = FILL.substring(0, 40);
+        byte[] buffer = bytes(EXECUTION_REPORT + "\n" + FILL + "\r\n" + partial);
+        ColumnBatch batch = new ColumnBatch(spec, 8);
+
+        int consumed = extractor.extract(buffer, 0, buffer.length, batch);
+
+        assertEquals(2, batch.size());
+        assertEquals(buffer.length - partial.length(), consumed);
+        assertEquals(15L, batch.getLongColumn(spec.getColumn(38))[0]);
+        assertEquals(300L, batch.getLongColumn(spec.getColumn(38))[1]);
+    }
+
+    @Test
+    public void extractStopsWhenBatchIsFull() {
+        byte[] buffer = bytes(FILL + FILL + FILL);
+        ColumnBatch batch = new ColumnBatch(spec, 2);
+
+        int consumed = extractor.extract(buffer, 0, buffer.length, batch);
+        assertEquals(2 * FILL.length(), consumed);
+        assertTrue(batch.isFull());
+
+        batch.clear();
+        assertEquals(FILL.length(), extractor.extract(buffer, consumed, buffer.length - consumed, batch));
+        assertEquals(1, batch.size());
+        assertFalse(batch.isNull(spec.getColumn(60), 0));
+    }
+
+    @Test
+    public void specRejectsDuplicateOrOutOfRangeTags() {
+        assertThrows(IllegalArgumentException.class, () -> spec.addLong(38));
+        assertThrows(IllegalArgumentException.class, () -> spec.addLong(ColumnSpec.MAX_TAG + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> extractor.extract(new byte[0][], 0, 0, new ColumnBatch(new ColumnSpec(), 1)));
+    }
+
+    private static byte[] bytes(String message) {
+        return message.getBytes(StandardCharsets.US_ASCII);
+    }
+}
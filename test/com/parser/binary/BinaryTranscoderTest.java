@@ -0,0 +1,105 @@
+package com.parser.binary;
+
+import com.parser.FixParser;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class BinaryTranscoderTest {
+    private static final byte[] EXECUTION_REPORT = ("8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final FixParser fixParser = new FixParser();
+    private final BinaryTranscoder transcoder = new BinaryTranscoder()
+            .register(new BinarySchema(1, "8", 32)
+                    .addString(49, 16).addString(56, 16).addString(52, 21).addString(11, 20)
+                    .addChar(20).addChar(150).addChar(39).addString(55, 8).addString(167, 4)
+                    .addChar(54).addDecimal(38, 4).addChar(40).addDecimal(44, 6).addString(58, 32)
+                    .addChar(59).addChar(47).addDecimal(32, 4).addDecimal(31, 6).addDecimal(151, 4)
+                    .addDecimal(14, 4).addDecimal(6, 6).addInt(34).addLong(37));
+
+    @Test
+    public void encodeWritesFixedLayoutRecord() {
+        assertTrue(fixParser.parse(EXECUTION_REPORT));
+        byte[] record = new byte[256];
+
+        int length = transcoder.encode(EXECUTION_REPORT, fixParser, record, 10);
+
+        BinaryRecordReader reader = new BinaryRecordReader(transcoder).wrap(record, 10);
+        assertEquals(reader.getRecordLength(), length);
+        assertEquals(150000L, reader.getDecimal(38));
+        assertEquals(15000000L, reader.getDecimal(44));
+        assertEquals('1', reader.getChar(54));
+        byte[] symbol = new byte[8];
+        assertEquals(4, reader.getString(55, symbol));
+        assertEquals("MSFT", new String(symbol, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(4, reader.getStringLength(55));
+    }
+
+    @Test
+    public void reusedRecordIsIdenticalToFreshRecord() {
+        assertTrue(fixParser.parse(EXECUTION_REPORT));
+        byte[] fresh = new byte[256];
+        transcoder.encode(EXECUTION_REPORT, fixParser, fresh, 0);
+
+        // longer values first, the checksum is not needed to transcode
+        byte[] longer = new String(EXECUTION_REPORT, StandardCharsets.US_ASCII).replace("55=MSFT", "55=GOOGLE99")
+                .replace("58=PHLX EQUITY TESTING", "58=PHLX EQUITY TESTING LONGER TEXT")
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] reused = new byte[256];
+        fixParser.parse(longer);
+        transcoder.encode(longer, fixParser, reused, 0);
+        assertTrue(fixParser.parse(EXECUTION_REPORT));
+        transcoder.encode(EXECUTION_REPORT, fixParser, reused, 0);
+
+        assertArrayEquals(fresh, reused);
+    }
+
+    @Test
+    public void absentTagsAreNotPresent() {
+        assertTrue(fixParser.parse(EXECUTION_REPORT));
+        byte[] record = new byte[256];
+        transcoder.encode(EXECUTION_REPORT, fixParser, record, 0);
+
+        BinaryRecordReader reader = new BinaryRecordReader(transcoder).wrap(record, 0);
+        assertFalse(reader.fieldExists(34));
+        assertFalse(reader.fieldExists(37));
+        assertFalse(reader.fieldExists(100));
+        assertTrue(reader.fieldExists(38));
+        assertThrows(RuntimeException.class, () -> reader.getInt(34));
+        assertThrows(IllegalArgumentException.class, () -> reader.getInt(38));
+    }
+
+    @Test
+    public void encodeBackToFixRestoresOriginalMessage() {
+        assertTrue(fixParser.parse(EXECUTION_REPORT));
+        byte[] record = new byte[256];
+        transcoder.encode(EXECUTION_REPORT, fixParser, record, 0);
+
+        byte[] fix = new byte[512];
+        BinaryRecordReader reader = new BinaryRecordReader(transcoder).wrap(record, 0);
+        int length = new BinaryToFixEncoder("FIX.4.2").encode(reader, fix, 0);
+
+        byte[] encoded = new byte[length];
+        System.arraycopy(fix, 0, encoded, 0, length);
+        assertTrue(fixParser.parse(encoded));
+        assertArrayEquals(EXECUTION_REPORT, encoded);
+    }
+
+    @Test
+    public void encodeThrowsForUnknownMsgType() {
+        byte[] heartbeat = "8=FIX.4.4\u00019=5\u000135=0\u000110=000\u0001".getBytes(StandardCharsets.US_ASCII);
+        fixParser.parse(heartbeat);
+        assertThrows(RuntimeException.class, () -> transcoder.encode(heartbeat, fixParser, new byte[256], 0));
+    }
+
+    @Test
+    public void registerRejectsDuplicateMsgType() {
+        assertThrows(IllegalArgumentException.class, () -> transcoder.register(new BinarySchema(2, "8", 1)));
+    }
+}
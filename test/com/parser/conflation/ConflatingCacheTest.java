@@ -0,0 +1,178 @@
+package com.parser.conflation;
+
+import com.parser.FixParser;
+import com.parser.batch.ColumnSpec;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class ConflatingCacheTest {
+    private final FixParser fixParser = new FixParser();
+    private final ColumnSpec spec = new ColumnSpec().addDecimal(132, 4).addDecimal(133, 4).addLong(134);
+
+    static byte[] fix(String body) {
+        String message = "8=FIX.4.4\u00019=" + body.length() + "\u0001" + body;
+        int sum = 0;
+        for (int i = 0; i < message.length(); i++) {
+            sum += message.charAt(i);
+        }
+        return (message + String.format("10=%03d\u0001", sum % 256)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private int update(ConflatingCache cache, String body) {
+        byte[] data = fix(body);
+        assertTrue(fixParser.parse(data));
+        return cache.update(data, fixParser);
+    }
+
+    @Test
+    public void drainsLatestValuesOncePerKey() {
+        ConflatingCache cache = new ConflatingCache(spec, 16, 256);
+        ConflationConsumer consumer = cache.newConsumer();
+
+        int msft = update(cache, "35=S\u000155=MSFT\u0001132=100.1\u0001133=100.2\u0001134=10\u0001");
+        update(cache, "35=S\u000155=IBM\u0001132=50\u0001133=51\u0001134=5\u0001");
+        update(cache, "35=S\u000155=MSFT\u0001132=100.3\u0001133=100.4\u0001134=20\u0001");
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, consumer.drain((c, keyId) -> {
+            drained.add(cache.getKeyString(keyId));
+            if (keyId == msft) {
+                assertEquals(1003000L, c.getLong(0));
+                assertEquals(1004000L, c.getLong(1));
+                assertEquals(20L, c.getLong(2));
+            }
+        }));
+        assertEquals(List.of("MSFT", "IBM"), drained);
+        assertEquals(0, consumer.drain((c, keyId) -> fail("Nothing changed")));
+    }
+
+    @Test
+    public void missingTagsKeepPreviousValue() {
+        ConflatingCache cache = new ConflatingCache(spec, 16, 256);
+        ConflationConsumer consumer = cache.newConsumer();
+
+        update(cache, "35=S\u000155=MSFT\u0001132=100\u0001");
+        consumer.drain((c, keyId) -> {
+            assertTrue(c.isPresent(0));
+            assertFalse(c.isPresent(1));
+        });
+        update(cache, "35=S\u000155=MSFT\u0001133=101\u0001");
+        assertEquals(1, consumer.drain((c, keyId) -> {
+            assertEquals(1000000L, c.getLong(0));
+            assertEquals(1010000L, c.getLong(1));
+            assertTrue(c.isPresent(1));
+            assertFalse(c.isPresent(2));
+        }));
+    }
+
+    @Test
+    public void consumersTrackChangesIndependently() {
+        ConflatingCache cache = new ConflatingCache(spec, 16, 256);
+        ConflationConsumer fast = cache.newConsumer();
+        ConflationConsumer slow = cache.newConsumer();
+
+        update(cache, "35=S\u000155=MSFT\u0001132=1\u0001");
+        assertEquals(1, fast.drain((c, keyId) -> { }));
+        update(cache, "35=S\u000155=IBM\u0001132=2\u0001");
+        assertEquals(1, fast.drain((c, keyId) -> assertEquals("IBM", cache.getKeyString(keyId))));
+        assertEquals(2, slow.drain((c, keyId) -> { }));
+    }
+
+    @Test
+    public void usesConfiguredKeyTag() {
+        ConflatingCache cache = new ConflatingCache(spec, 48, 16, 256);
+        ConflationConsumer consumer = cache.newConsumer();
+
+        assertEquals(-1, update(cache, "35=S\u000155=MSFT\u0001132=1\u0001"));
+        int keyId = update(cache, "35=S\u000148=US5949181045\u000155=MSFT\u0001132=1\u0001");
+        byte[] dest = new byte[16];
+        assertEquals(12, cache.getKey(keyId, dest));
+        assertEquals("US5949181045", new String(dest, 0, 12, StandardCharsets.US_ASCII));
+        assertEquals(1, consumer.drain((c, id) -> { }));
+    }
+
+    @Test
+    public void malformedValueDoesNotLockSlot() {
+        ConflatingCache cache = new ConflatingCache(spec, 16, 256);
+        ConflationConsumer consumer = cache.newConsumer();
+
+        update(cache, "35=S\u000155=MSFT\u0001132=1\u0001");
+        assertThrows(NumberFormatException.class, () -> update(cache, "35=S\u000155=MSFT\u0001132=1.23456\u0001"));
+        assertEquals(1, consumer.drain((c, keyId) -> assertEquals(10000L, c.getLong(0))));
+    }
+
+    @Test
+    public void latestValueIsAlwaysDelivered() throws InterruptedException {
+        ConflatingCache cache = new ConflatingCache(spec, 4, 64);
+        ConflationConsumer consumer = cache.newConsumer();
+        int updates = 20_000;
+        byte[][] messages = new byte[updates][];
+        for (int i = 0; i < updates; i++) {
+            messages[i] = fix("35=S\u000155=K" + (i % 4) + "\u0001134=" + (i + 1) + "\u0001");
+        }
+
+        long[] lastSeen = new long[4];
+        ConflationHandler record = (c, keyId) -> lastSeen[keyId] = Math.max(lastSeen[keyId], c.getLong(2));
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                consumer.drain(record);
+            }
+        });
+        reader.start();
+        FixParser writerParser = new FixParser();
+        for (byte[] message : messages) {
+            writerParser.parse(message);
+            cache.update(message, writerParser);
+        }
+        running.set(false);
+        reader.join();
+        // whatever the reader missed must still be flagged
+        consumer.drain(record);
+        for (int key = 0; key < 4; key++) {
+            assertEquals(updates - 3 + key, lastSeen[key]);
+        }
+    }
+
+    @Test
+    public void readersNeverSeeTornUpdates() throws InterruptedException {
+        ConflatingCache cache = new ConflatingCache(spec, 4, 64);
+        ConflationConsumer consumer = cache.newConsumer();
+        byte[][] messages = new byte[100][];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = fix("35=S\u000155=K" + (i % 4) + "\u0001132=" + i + "\u0001133=" + i + "\u0001134=" + i + "\u0001");
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean torn = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                consumer.drain((c, keyId) -> {
+                    if (c.getLong(0) != c.getLong(1) || c.getLong(1) / 10000 != c.getLong(2)) {
+                        torn.set(true);
+                    }
+                });
+            }
+        });
+        reader.start();
+        FixParser writerParser = new FixParser();
+        for (int round = 0; round < 2_000; round++) {
+            for (byte[] message : messages) {
+                writerParser.parse(message);
+                cache.update(message, writerParser);
+            }
+        }
+        running.set(false);
+        reader.join();
+        assertFalse("Reader saw values from different updates", torn.get());
+    }
+}
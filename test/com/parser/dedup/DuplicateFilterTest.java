@@ -0,0 +1,97 @@
+package com.parser.dedup;
+
+import com.parser.FixParser;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class DuplicateFilterTest {
+    private final FixParser fixParser = new FixParser();
+
+    static byte[] fix(String body) {
+        String message = "8=FIX.4.4\u00019=" + body.length() + "\u0001" + body;
+        int sum = 0;
+        for (int i = 0; i < message.length(); i++) {
+            sum += message.charAt(i);
+        }
+        return (message + String.format("10=%03d\u0001", sum % 256)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private boolean isDuplicate(DuplicateFilter filter, String body, long now) {
+        byte[] data = fix(body);
+        assertTrue(fixParser.parse(data));
+        return filter.isDuplicate(data, fixParser, now);
+    }
+
+    private long fingerprint(MessageFingerprint fingerprint, String body) {
+        byte[] data = fix(body);
+        assertTrue(fixParser.parse(data));
+        return fingerprint.compute(data, fixParser);
+    }
+
+    @Test
+    public void fingerprintDependsOnSelectedTagsOnly() {
+        MessageFingerprint fingerprint = new MessageFingerprint(11, 150, 14);
+        long first = fingerprint(fingerprint, "35=8\u000134=10\u000111=ORD1\u0001150=F\u000114=100\u0001");
+        assertEquals(first, fingerprint(fingerprint, "35=8\u000134=95\u000143=Y\u000111=ORD1\u0001150=F\u000114=100\u0001"));
+        assertNotEquals(first, fingerprint(fingerprint, "35=8\u000134=11\u000111=ORD1\u0001150=F\u000114=200\u0001"));
+        assertNotEquals(first, fingerprint(fingerprint, "35=8\u000134=11\u000111=ORD\u0001150=F\u000114=1100\u0001"));
+        assertNotEquals(first, fingerprint(fingerprint, "35=8\u000134=11\u000111=ORD1\u0001150=F\u0001"));
+        assertThrows(IllegalArgumentException.class, MessageFingerprint::new);
+    }
+
+    @Test
+    public void onlyFlaggedMessagesAreReportedAsDuplicates() {
+        DuplicateFilter filter = new DuplicateFilter(new MessageFingerprint(17), new FingerprintWindow(16));
+        assertFalse(isDuplicate(filter, "35=8\u000134=1\u000117=EXEC1\u0001", 0));
+        assertFalse(isDuplicate(filter, "35=8\u000134=2\u000117=EXEC2\u0001", 0));
+        assertTrue(isDuplicate(filter, "35=8\u000134=1\u000143=Y\u000117=EXEC1\u0001", 0));
+        assertTrue(isDuplicate(filter, "35=8\u000134=2\u000197=Y\u000117=EXEC2\u0001", 0));
+        assertFalse(isDuplicate(filter, "35=8\u000134=3\u000143=Y\u000117=EXEC3\u0001", 0));
+        assertFalse(isDuplicate(filter, "35=8\u000134=4\u000143=N\u000117=EXEC1\u0001", 0));
+    }
+
+    @Test
+    public void windowEvictsOldestByCount() {
+        FingerprintWindow window = new FingerprintWindow(3);
+        for (long fingerprint = 1; fingerprint <= 4; fingerprint++) {
+            assertTrue(window.add(fingerprint, 0));
+        }
+        assertEquals(3, window.size());
+        assertFalse(window.contains(1));
+        assertTrue(window.contains(2));
+        assertFalse(window.add(4, 0));
+    }
+
+    @Test
+    public void windowEvictsByAge() {
+        FingerprintWindow window = new FingerprintWindow(16, 100);
+        window.add(1, 0);
+        window.add(2, 50);
+        assertFalse(window.add(1, 100));
+        assertTrue(window.add(3, 120));
+        assertFalse(window.contains(1));
+        assertTrue(window.contains(2));
+        assertEquals(2, window.size());
+    }
+
+    @Test
+    public void evictionKeepsCollidingEntriesReachable() {
+        FingerprintWindow window = new FingerprintWindow(64);
+        // fingerprints sharing the same slot form one long probe chain
+        for (long i = 1; i <= 200; i++) {
+            window.add(i << 32 | i, 0);
+            for (long j = Math.max(1, i - 63); j <= i; j++) {
+                assertTrue(window.contains(j << 32 | j));
+            }
+        }
+        window.clear();
+        assertEquals(0, window.size());
+        assertFalse(window.contains(200L << 32 | 200));
+    }
+}
@@ -0,0 +1,97 @@
+package com.parser.dictionary;
+
+import com.parser.FixParser;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class EnumDecoderTest {
+    private static final byte[] EXECUTION_REPORT = ("8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void decodesSingleAndMultiCharValues() {
+        EnumDecoder decoder = new EnumDecoder("0", "A", "AE", "AR", "BE", "U123");
+        for (int ordinal = 0; ordinal < decoder.size(); ordinal++) {
+            byte[] value = bytes(decoder.getValue(ordinal));
+            assertEquals(ordinal, decoder.decode(value, 0, value.length));
+        }
+    }
+
+    @Test
+    public void decodesAtOffset() {
+        EnumDecoder decoder = new EnumDecoder("1", "AE");
+        byte[] data = bytes("35=AE;54=1;");
+        assertEquals(1, decoder.decode(data, 3, 2));
+        assertEquals(0, decoder.decode(data, 9, 1));
+    }
+
+    @Test
+    public void unknownValuesReturnSentinel() {
+        EnumDecoder decoder = new EnumDecoder("1", "2", "AE");
+        assertEquals(EnumDecoder.UNKNOWN, decoder.decode(bytes("3"), 0, 1));
+        assertEquals(EnumDecoder.UNKNOWN, decoder.decode(bytes("AR"), 0, 2));
+        assertEquals(EnumDecoder.UNKNOWN, decoder.decode(bytes("AEX"), 0, 3));
+        assertEquals(EnumDecoder.UNKNOWN, decoder.decode(bytes("LONGER"), 0, 6));
+        assertEquals(EnumDecoder.UNKNOWN, decoder.decode(bytes(""), 0, 0));
+        assertEquals(EnumDecoder.UNKNOWN, decoder.decode(new byte[]{(byte) 0xC3}, 0, 1));
+    }
+
+    @Test
+    public void rejectsInvalidDictionaries() {
+        assertThrows(IllegalArgumentException.class, () -> new EnumDecoder("1", "1"));
+        assertThrows(IllegalArgumentException.class, () -> new EnumDecoder(""));
+        assertThrows(IllegalArgumentException.class, () -> new EnumDecoder("ABCDE"));
+    }
+
+    @Test
+    public void manyMultiCharValuesHashWithoutCollision() {
+        String[] values = new String[26 * 26];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "" + (char) ('A' + i / 26) + (char) ('A' + i % 26);
+        }
+        EnumDecoder decoder = new EnumDecoder(values);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i, decoder.decode(bytes(values[i]), 0, 2));
+        }
+    }
+
+    @Test
+    public void mapperReturnsConstants() {
+        assertEquals(MsgType.TRADE_CAPTURE_REPORT, MsgType.MAPPER.decode(bytes("AE"), 0, 2));
+        assertEquals(MsgType.EXECUTION_REPORT, MsgType.MAPPER.decode(bytes("8"), 0, 1));
+        assertEquals(MsgType.UNKNOWN, MsgType.MAPPER.decode(bytes("ZZ"), 0, 2));
+        assertEquals(Side.UNKNOWN, Side.MAPPER.getUnknown());
+        for (OrdType ordType : OrdType.values()) {
+            if (ordType != OrdType.UNKNOWN) {
+                byte[] value = bytes(ordType.getValue());
+                assertEquals(ordType, OrdType.MAPPER.decode(value, 0, value.length));
+            }
+        }
+    }
+
+    @Test
+    public void parserDecodesEnumFields() {
+        FixParser parser = new FixParser();
+        assertTrue(parser.parse(EXECUTION_REPORT));
+
+        assertEquals(MsgType.EXECUTION_REPORT, parser.getEnum(EXECUTION_REPORT, 35, MsgType.MAPPER));
+        assertEquals(Side.BUY, parser.getEnum(EXECUTION_REPORT, 54, Side.MAPPER));
+        assertEquals(OrdStatus.PENDING_REPLACE, parser.getEnum(EXECUTION_REPORT, 39, OrdStatus.MAPPER));
+        assertEquals(ExecType.PENDING_REPLACE, parser.getEnum(EXECUTION_REPORT, 150, ExecType.MAPPER));
+        assertEquals(OrdType.LIMIT, parser.getEnum(EXECUTION_REPORT, 40, OrdType.MAPPER));
+        assertEquals(TimeInForce.DAY, parser.getEnum(EXECUTION_REPORT, 59, TimeInForce.MAPPER));
+        assertEquals(Side.BUY.ordinal(), parser.getEnum(EXECUTION_REPORT, 54, Side.MAPPER.getDecoder()));
+        // 47=C is not a Side
+        assertEquals(Side.UNKNOWN, parser.getEnum(EXECUTION_REPORT, 47, Side.MAPPER));
+    }
+}
@@ -0,0 +1,203 @@
+package com.parser.journal;
+
+import com.parser.FixParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class JournalTest {
+    private static final long FLUSH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+    private Path directory;
+
+    static byte[] fix(String body) {
+        String message = "8=FIX.4.4\u00019=" + body.length() + "\u0001" + body;
+        int sum = 0;
+        for (int i = 0; i < message.length(); i++) {
+            sum += message.charAt(i);
+        }
+        return (message + String.format("10=%03d\u0001", sum % 256)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void replaysEveryMessageInOrderAcrossSegments() throws IOException {
+        FixParser fixParser = new FixParser();
+        try (JournalWriter writer = new JournalWriter(directory, 1024, 8, FLUSH_INTERVAL)) {
+            for (int seq = 1; seq <= 100; seq++) {
+                byte[] data = fix("35=D\u000134=" + seq + "\u000111=ORD" + seq + "\u000155=MSFT\u0001");
+                boolean valid = fixParser.parse(data);
+                writer.append(data, fixParser, valid, seq * 1000L);
+            }
+        }
+        assertTrue(segmentCount() > 5);
+
+        long[] expectedSeq = {1};
+        long replayed = new JournalReader(directory).replay(new FixParser(), (data, offset, length, status, receiveNanos, parser) -> {
+            assertEquals(expectedSeq[0], parser.getLong(data, 34));
+            assertEquals(expectedSeq[0] * 1000L, receiveNanos);
+            assertEquals(JournalWriter.STATUS_VALID, status);
+            assertEquals(offset, parser.getMessageOffset());
+            assertEquals(length, parser.getMessageLength());
+            expectedSeq[0]++;
+        });
+        assertEquals(100, replayed);
+    }
+
+    @Test
+    public void recordsChecksumStatus() throws IOException {
+        byte[] valid = fix("35=0\u000134=1\u0001");
+        byte[] invalid = fix("35=0\u000134=2\u0001");
+        invalid[invalid.length - 2]++;
+        FixParser fixParser = new FixParser();
+        try (JournalWriter writer = new JournalWriter(directory, 4096, 1, FLUSH_INTERVAL)) {
+            writer.append(valid, fixParser, fixParser.parse(valid), 1);
+            writer.append(invalid, fixParser, fixParser.parse(invalid), 2);
+        }
+
+        List<Integer> statuses = new ArrayList<>();
+        new JournalReader(directory).replay(new FixParser(), (data, offset, length, status, receiveNanos, parser) -> statuses.add(status));
+        assertEquals(List.of(JournalWriter.STATUS_VALID, JournalWriter.STATUS_INVALID), statuses);
+    }
+
+    @Test
+    public void reopenedWriterAppendsAfterExistingSegments() throws IOException {
+        byte[] data = fix("35=0\u000134=1\u0001");
+        for (int run = 0; run < 2; run++) {
+            try (JournalWriter writer = new JournalWriter(directory, 4096, 1, FLUSH_INTERVAL)) {
+                writer.append(data, 0, data.length, JournalWriter.STATUS_VALID, run);
+            }
+        }
+        List<Long> times = new ArrayList<>();
+        new JournalReader(directory).replay(new FixParser(), (d, offset, length, status, receiveNanos, parser) -> times.add(receiveNanos));
+        assertEquals(List.of(0L, 1L), times);
+    }
+
+    @Test
+    public void replayContinuesWithSegmentWrittenAfterRestart() throws IOException {
+        int third = writeThreeRecords();
+        corrupt(third + JournalWriter.HEADER_LENGTH + 23, (byte) '7');
+        byte[] data = fix("35=0\u000134=1\u0001");
+        try (JournalWriter writer = new JournalWriter(directory, 4096, 1, FLUSH_INTERVAL)) {
+            for (int i = 0; i < 3; i++) {
+                writer.append(data, 0, data.length, JournalWriter.STATUS_VALID, 10 + i);
+            }
+        }
+
+        List<Long> times = new ArrayList<>();
+        JournalReader reader = new JournalReader(directory);
+        assertEquals(5, reader.replay(new FixParser(), (d, offset, length, status, receiveNanos, parser) -> times.add(receiveNanos)));
+        assertEquals(List.of(0L, 1L, 10L, 11L, 12L), times);
+        assertTrue(reader.isTorn());
+    }
+
+    @Test
+    public void rejectsNonPositiveFlushInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new JournalWriter(directory, 4096, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new JournalWriter(directory, 4096, 1, -1));
+    }
+
+    @Test
+    public void rejectsRecordsLargerThanSegment() throws IOException {
+        try (JournalWriter writer = new JournalWriter(directory, 64, 1, FLUSH_INTERVAL)) {
+            byte[] data = new byte[41];
+            assertThrows(IllegalArgumentException.class, () -> writer.append(data, 0, data.length, JournalWriter.STATUS_VALID, 0));
+            writer.append(data, 0, 40, JournalWriter.STATUS_VALID, 0);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new JournalWriter(directory, 60, 1, FLUSH_INTERVAL));
+    }
+
+    /**
+     * Writes three records to the first segment and returns the offset of the third one.
+     */
+    private int writeThreeRecords() throws IOException {
+        byte[] data = fix("35=0\u000134=1\u0001");
+        try (JournalWriter writer = new JournalWriter(directory, 4096, 1, FLUSH_INTERVAL)) {
+            for (int i = 0; i < 3; i++) {
+                writer.append(data, 0, data.length, JournalWriter.STATUS_VALID, i);
+            }
+        }
+        return 2 * ((JournalWriter.HEADER_LENGTH + data.length + 7) & ~7);
+    }
+
+    private void corrupt(int position, byte value) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-00000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{value}), position);
+        }
+    }
+
+    @Test
+    public void replayStopsAtRecordWithZeroedBody() throws IOException {
+        int third = writeThreeRecords();
+        // header persisted, body page lost
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-00000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[64]), third + JournalWriter.HEADER_LENGTH);
+        }
+
+        JournalReader reader = new JournalReader(directory);
+        List<Long> times = new ArrayList<>();
+        assertEquals(2, reader.replay(new FixParser(), (data, offset, length, status, receiveNanos, parser) -> times.add(receiveNanos)));
+        assertEquals(List.of(0L, 1L), times);
+        assertTrue(reader.isTorn());
+    }
+
+    @Test
+    public void replayStopsAtRecordFailingChecksum() throws IOException {
+        int third = writeThreeRecords();
+        // a digit of MsgSeqNum changed, still parseable
+        corrupt(third + JournalWriter.HEADER_LENGTH + 23, (byte) '7');
+
+        JournalReader reader = new JournalReader(directory);
+        assertEquals(2, reader.replay(new FixParser(), (data, offset, length, status, receiveNanos, parser) -> { }));
+        assertTrue(reader.isTorn());
+    }
+
+    @Test
+    public void completeJournalIsNotTorn() throws IOException {
+        writeThreeRecords();
+        JournalReader reader = new JournalReader(directory);
+        assertEquals(3, reader.replay(new FixParser(), (data, offset, length, status, receiveNanos, parser) -> { }));
+        assertFalse(reader.isTorn());
+    }
+
+    @Test
+    public void emptyDirectoryReplaysNothing() throws IOException {
+        assertEquals(0, new JournalReader(directory).replay(new FixParser(), (data, offset, length, status, receiveNanos, parser) -> fail()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.parser.marketdata;
+
+import com.parser.FixParser;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class OrderBookBuilderPerformanceTest {
+    private static final int MESSAGES = 1_000;
+    private static final int ENTRIES_PER_MESSAGE = 4;
+    private static final int ITERATIONS = 500_000;
+
+    @Test
+    public void testUpdatesPerSecondAtDepth10() {
+        measure(10);
+    }
+
+    @Test
+    public void testUpdatesPerSecondAtDepth50() {
+        measure(50);
+    }
+
+    @Test
+    public void testUpdatesPerSecondAtDepth500() {
+        measure(500);
+    }
+
+    private void measure(int depth) {
+        FixParser fixParser = new FixParser();
+        OrderBookBuilder builder = new OrderBookBuilder(16, depth, 4, 0);
+        byte[][] messages = incrementals(depth);
+
+        // fill both sides to the full depth first
+        StringBuilder snapshot = new StringBuilder("35=W\u000155=MSFT\u0001268=" + 2 * depth + "\u0001");
+        for (int level = 0; level < depth; level++) {
+            snapshot.append("269=0\u0001270=").append(1000 - level).append("\u0001271=100\u0001");
+            snapshot.append("269=1\u0001270=").append(1001 + level).append("\u0001271=100\u0001");
+        }
+        byte[] fullRefresh = OrderBookBuilderTest.fix(snapshot.toString());
+        Assert.assertTrue(fixParser.parse(fullRefresh));
+        builder.apply(fullRefresh, fixParser);
+
+        long updates = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            byte[] message = messages[i % MESSAGES];
+            fixParser.parse(message);
+            updates += builder.apply(message, fixParser);
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        long updatesPerSecond = updates * 1_000_000_000L / elapsedNanos;
+        System.out.println("Depth " + depth + ": applied " + updates + " updates in " + elapsedNanos / 1_000_000
+                + " ms (" + updatesPerSecond + " updates/s)");
+
+        Assert.assertEquals((long) ITERATIONS * ENTRIES_PER_MESSAGE, updates);
+        Assert.assertEquals(depth, builder.getBook(0).getBids().size());
+        // Adjust threshold if needed for your environment.
+        Assert.assertTrue("Too slow at depth " + depth + ": " + updatesPerSecond + " updates/s", updatesPerSecond > 500_000);
+    }
+
+    /**
+     * Builds incrementals changing the size of existing levels, and replacing a level by a
+     * delete followed by a new entry at the same price, so the depth stays constant.
+     */
+    private static byte[][] incrementals(int depth) {
+        Random random = new Random(42);
+        byte[][] messages = new byte[MESSAGES][];
+        for (int m = 0; m < MESSAGES; m++) {
+            int bid = 1000 - random.nextInt(depth);
+            int offer = 1001 + random.nextInt(depth);
+            String body = "35=X\u0001268=" + ENTRIES_PER_MESSAGE + "\u0001"
+                    + "279=1\u0001269=0\u000155=MSFT\u0001270=" + bid + "\u0001271=" + (1 + random.nextInt(500)) + "\u0001"
+                    + "279=1\u0001269=1\u000155=MSFT\u0001270=" + offer + "\u0001271=" + (1 + random.nextInt(500)) + "\u0001"
+                    + "279=2\u0001269=0\u000155=MSFT\u0001270=" + bid + "\u0001"
+                    + "279=0\u0001269=0\u000155=MSFT\u0001270=" + bid + "\u0001271=" + (1 + random.nextInt(500)) + "\u0001";
+            messages[m] = OrderBookBuilderTest.fix(body);
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,161 @@
+package com.parser.marketdata;
+
+import com.parser.FixParser;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class OrderBookBuilderTest {
+    private static final byte[] MSFT = "MSFT".getBytes(StandardCharsets.US_ASCII);
+
+    private final FixParser fixParser = new FixParser();
+    private final OrderBookBuilder builder = new OrderBookBuilder(4, 3, 4, 0);
+
+    @Test
+    public void snapshotReplacesBook() {
+        apply("35=W\u000155=MSFT\u0001268=4\u0001269=0\u0001270=100.5\u0001271=200\u0001269=0\u0001270=100.75\u0001271=100\u0001"
+                + "269=1\u0001270=101\u0001271=300\u0001269=2\u0001270=100.8\u0001271=5\u0001", 3);
+
+        OrderBook book = builder.getBook(MSFT, 0, MSFT.length);
+        assertEquals(2, book.getBids().size());
+        assertEquals(1007500L, book.getBids().getPrice(0));
+        assertEquals(100L, book.getBids().getSize(0));
+        assertEquals(1005000L, book.getBids().getPrice(1));
+        assertEquals(1, book.getOffers().size());
+        assertEquals(1010000L, book.getOffers().getPrice(0));
+
+        apply("35=W\u000155=MSFT\u0001268=1\u0001269=1\u0001270=102\u0001271=10\u0001", 1);
+        assertEquals(0, book.getBids().size());
+        assertEquals(1020000L, book.getOffers().getPrice(0));
+    }
+
+    @Test
+    public void incrementalAppliesByPrice() {
+        apply("35=X\u0001268=3\u0001279=0\u0001269=1\u000155=MSFT\u0001270=101\u0001271=300\u0001"
+                + "279=0\u0001269=1\u0001270=100.9\u0001271=50\u0001"
+                + "279=0\u0001269=1\u0001270=101.2\u0001271=70\u0001", 3);
+        OrderBook book = builder.getBook(MSFT, 0, MSFT.length);
+        BookSide offers = book.getOffers();
+        assertEquals(3, offers.size());
+        assertEquals(1009000L, offers.getPrice(0));
+        assertEquals(1012000L, offers.getPrice(2));
+
+        apply("35=X\u0001268=2\u0001279=1\u0001269=1\u000155=MSFT\u0001270=101\u0001271=10\u0001"
+                + "279=2\u0001269=1\u000155=MSFT\u0001270=100.9\u0001", 2);
+        assertEquals(2, offers.size());
+        assertEquals(1010000L, offers.getPrice(0));
+        assertEquals(10L, offers.getSize(0));
+
+        // a better price on a full side pushes the worst level out
+        apply("35=X\u0001268=2\u0001279=0\u0001269=1\u000155=MSFT\u0001270=100.1\u0001271=1\u0001"
+                + "279=0\u0001269=1\u000155=MSFT\u0001270=100.2\u0001271=2\u0001", 2);
+        assertEquals(3, offers.size());
+        assertEquals(1001000L, offers.getPrice(0));
+        assertEquals(1010000L, offers.getPrice(2));
+    }
+
+    @Test
+    public void incrementalAppliesByPriceLevel() {
+        apply("35=X\u0001268=3\u0001279=0\u0001269=0\u000155=IBM\u00011023=1\u0001270=99\u0001271=1\u0001"
+                + "279=0\u0001269=0\u000155=IBM\u00011023=1\u0001270=100\u0001271=2\u0001"
+                + "279=0\u0001269=0\u000155=IBM\u00011023=3\u0001270=98\u0001271=3\u0001", 3);
+        byte[] ibm = "IBM".getBytes(StandardCharsets.US_ASCII);
+        BookSide bids = builder.getBook(ibm, 0, ibm.length).getBids();
+        assertEquals(3, bids.size());
+        assertEquals(1000000L, bids.getPrice(0));
+        assertEquals(990000L, bids.getPrice(1));
+        assertEquals(980000L, bids.getPrice(2));
+
+        apply("35=X\u0001268=1\u0001279=2\u0001269=0\u000155=IBM\u00011023=1\u0001", 1);
+        assertEquals(2, bids.size());
+        assertEquals(990000L, bids.getPrice(0));
+
+        apply("35=X\u0001268=1\u0001279=3\u0001269=0\u000155=IBM\u00011023=1\u0001", 1);
+        assertEquals(1, bids.size());
+        assertEquals(980000L, bids.getPrice(0));
+    }
+
+    @Test
+    public void entriesOfSeveralSymbolsGoToTheirBooks() {
+        apply("35=X\u0001268=2\u0001279=0\u0001269=0\u000155=MSFT\u0001270=10\u0001271=1\u0001"
+                + "279=0\u0001269=0\u000155=IBM\u0001270=20\u0001271=1\u0001", 2);
+        assertEquals(2, builder.getSymbols().size());
+        assertEquals(100000L, builder.getBook(MSFT, 0, MSFT.length).getBids().getPrice(0));
+        assertNull(builder.getBook("AAPL".getBytes(StandardCharsets.US_ASCII), 0, 4));
+    }
+
+    @Test
+    public void otherMessagesAreIgnored() {
+        byte[] message = fix("35=D\u000155=MSFT\u0001");
+        assertTrue(fixParser.parse(message));
+        assertEquals(-1, builder.apply(message, fixParser));
+    }
+
+    @Test
+    public void malformedEntryLeavesBooksUntouched() {
+        apply("35=W\u000155=MSFT\u0001268=2\u0001269=0\u0001270=100.5\u0001271=200\u0001269=1\u0001270=101\u0001271=300\u0001", 2);
+
+        // the second price has more decimals than the price scale of 4
+        byte[] snapshot = fix("35=W\u000155=MSFT\u0001268=2\u0001269=0\u0001270=99\u0001271=1\u0001269=1\u0001270=101.00001\u0001271=1\u0001");
+        assertTrue(fixParser.parse(snapshot));
+        assertThrows(NumberFormatException.class, () -> builder.apply(snapshot, fixParser));
+        byte[] incremental = fix("35=X\u0001268=2\u0001279=2\u0001269=0\u000155=MSFT\u0001270=100.5\u0001"
+                + "279=0\u0001269=1\u000155=MSFT\u0001270=1.234567\u0001271=1\u0001");
+        assertTrue(fixParser.parse(incremental));
+        assertThrows(NumberFormatException.class, () -> builder.apply(incremental, fixParser));
+
+        OrderBook book = builder.getBook(MSFT, 0, MSFT.length);
+        assertEquals(1, book.getBids().size());
+        assertEquals(1005000L, book.getBids().getPrice(0));
+        assertEquals(200L, book.getBids().getSize(0));
+        assertEquals(1, book.getOffers().size());
+        assertEquals(1010000L, book.getOffers().getPrice(0));
+    }
+
+    @Test
+    public void entriesBeyondDepthAreNotCounted() {
+        apply("35=X\u0001268=2\u0001279=0\u0001269=0\u000155=IBM\u00011023=1\u0001270=99\u0001271=1\u0001"
+                + "279=0\u0001269=0\u000155=IBM\u00011023=4\u0001270=98\u0001271=3\u0001", 1);
+        apply("35=X\u0001268=3\u0001279=0\u0001269=0\u000155=IBM\u0001270=98\u0001271=1\u0001"
+                + "279=0\u0001269=0\u000155=IBM\u0001270=97\u0001271=1\u0001"
+                + "279=0\u0001269=0\u000155=IBM\u0001270=96\u0001271=1\u0001", 2);
+        byte[] ibm = "IBM".getBytes(StandardCharsets.US_ASCII);
+        BookSide bids = builder.getBook(ibm, 0, ibm.length).getBids();
+        assertEquals(3, bids.size());
+        assertEquals(970000L, bids.getPrice(2));
+    }
+
+    @Test
+    public void rejectedMessageDoesNotInternSymbols() {
+        byte[] snapshot = fix("35=W\u000155=MSFT\u0001268=1\u0001269=0\u0001270=1.000001\u0001271=1\u0001");
+        assertTrue(fixParser.parse(snapshot));
+        assertThrows(NumberFormatException.class, () -> builder.apply(snapshot, fixParser));
+        byte[] incremental = fix("35=X\u0001268=1\u0001279=0\u0001269=0\u000155=IBM\u0001270=1.000001\u0001271=1\u0001");
+        assertTrue(fixParser.parse(incremental));
+        assertThrows(NumberFormatException.class, () -> builder.apply(incremental, fixParser));
+        assertEquals(0, builder.getSymbols().size());
+    }
+
+    private void apply(String body, int expectedEntries) {
+        byte[] message = fix(body);
+        assertTrue(fixParser.parse(message));
+        assertEquals(expectedEntries, builder.apply(message, fixParser));
+    }
+
+    /**
+     * Wraps a body into a message with a valid BodyLength and CheckSum.
+     */
+    static byte[] fix(String body) {
+        String message = "8=FIX.4.4\u00019=" + body.length() + "\u0001" + body;
+        int sum = 0;
+        for (int i = 0; i < message.length(); i++) {
+            sum += message.charAt(i);
+        }
+        return (message + String.format("10=%03d\u0001", sum % 256)).getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,157 @@
+package com.parser.net;
+
+import com.parser.utils.ByteUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loopback load test: many client sessions send timestamped orders to an acceptor spreading
+ * them over a couple of readers, measuring sustained throughput and one way latency.
+ */
+@RunWith(JUnit4.class)
+public class FixSessionReaderLoadTest {
+    private static final int SESSIONS = 128;
+    private static final int MESSAGES_PER_SESSION = 2_000;
+    private static final int READERS = 2;
+    private static final int WRITERS = 4;
+    private static final int SEND_TIME_TAG = 5001;
+    private static final byte[] BEGIN_STRING = "8=FIX.4.4\u00019=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEW_ORDER_PREFIX = "35=D\u000134=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEW_ORDER_FIELDS = ("\u000149=CLIENT\u000156=SERVER\u000155=MSFT\u000154=1\u000138=100\u000144=15.25\u0001"
+            + SEND_TIME_TAG + "=").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHECKSUM = "10=".getBytes(StandardCharsets.US_ASCII);
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    @Test
+    public void testSustainedThroughputAcrossSessions() throws Exception {
+        FixMessageHandler handler = (session, data, offset, length, valid) -> {
+            long latency = System.nanoTime() - session.getParser().getLong(data, SEND_TIME_TAG);
+            totalLatency.addAndGet(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+            if (!valid) invalid.incrementAndGet();
+            received.incrementAndGet();
+        };
+        FixSessionReader[] readers = new FixSessionReader[READERS];
+        for (int i = 0; i < READERS; i++) {
+            // SelectMode.SPIN gives lower latency but needs a dedicated core per reader
+            readers[i] = new FixSessionReader(handler, SelectMode.BLOCK, 16 * 1024, 200);
+            new Thread(readers[i]).start();
+        }
+        FixAcceptor acceptor = new FixAcceptor(new InetSocketAddress("127.0.0.1", 0), readers);
+        new Thread(acceptor).start();
+
+        SocketChannel[] clients = new SocketChannel[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            clients[i] = SocketChannel.open(acceptor.getLocalAddress());
+            clients[i].socket().setTcpNoDelay(true);
+        }
+
+        long startTime = System.nanoTime();
+        Thread[] writers = new Thread[WRITERS];
+        for (int w = 0; w < WRITERS; w++) {
+            final int writer = w;
+            writers[w] = new Thread(() -> send(clients, writer));
+            writers[w].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        long expected = (long) SESSIONS * MESSAGES_PER_SESSION;
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (received.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        for (SocketChannel client : clients) {
+            client.close();
+        }
+        acceptor.close();
+        for (FixSessionReader reader : readers) {
+            reader.close();
+        }
+
+        long messagesPerSecond = received.get() * 1_000_000_000L / elapsedNanos;
+        System.out.println("Received " + received.get() + " messages over " + SESSIONS + " sessions in "
+                + elapsedNanos / 1_000_000 + " ms (" + messagesPerSecond + " msg/s)");
+        System.out.println("Latency(avg) " + totalLatency.get() / Math.max(1, received.get()) / 1_000
+                + " us, max " + maxLatency.get() / 1_000 + " us");
+
+        Assert.assertEquals(expected, received.get());
+        Assert.assertEquals(0, invalid.get());
+        // Adjust threshold if needed for your environment.
+        Assert.assertTrue("Throughput too low: " + messagesPerSecond + " msg/s", messagesPerSecond > 20_000);
+    }
+
+    /**
+     * Sends every message of the sessions owned by the given writer, one message per session in turn.
+     */
+    private void send(SocketChannel[] clients, int writer) {
+        byte[] message = new byte[256];
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+        try {
+            for (int seq = 1; seq <= MESSAGES_PER_SESSION; seq++) {
+                for (int s = writer; s < clients.length; s += WRITERS) {
+                    int length = newOrder(message, seq, System.nanoTime());
+                    buffer.clear().limit(length);
+                    while (buffer.hasRemaining()) {
+                        clients[s].write(buffer);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes a NewOrderSingle with a valid BodyLength and CheckSum, carrying the send time.
+     */
+    private static int newOrder(byte[] dest, int seq, long sendTime) {
+        // body first, after room for the header, then the header in front of it
+        int bodyStart = 32;
+        int i = bodyStart;
+        i = put(NEW_ORDER_PREFIX, dest, i);
+        i += ByteUtils.writeLong(seq, dest, i);
+        i = put(NEW_ORDER_FIELDS, dest, i);
+        i += ByteUtils.writeLong(sendTime, dest, i);
+        dest[i++] = 0x01;
+        int bodyLength = i - bodyStart;
+
+        int h = put(BEGIN_STRING, dest, 0);
+        h += ByteUtils.writeLong(bodyLength, dest, h);
+        dest[h++] = 0x01;
+        System.arraycopy(dest, bodyStart, dest, h, bodyLength);
+        i = h + bodyLength;
+
+        int sum = 0;
+        for (int p = 0; p < i; p++) {
+            sum += dest[p] & 0xFF;
+        }
+        int checksum = sum % 256;
+        i = put(CHECKSUM, dest, i);
+        dest[i++] = (byte) ('0' + checksum / 100);
+        dest[i++] = (byte) ('0' + (checksum / 10) % 10);
+        dest[i++] = (byte) ('0' + checksum % 10);
+        dest[i++] = 0x01;
+        return i;
+    }
+
+    private static int put(byte[] src, byte[] dest, int offset) {
+        System.arraycopy(src, 0, dest, offset, src.length);
+        return offset + src.length;
+    }
+}
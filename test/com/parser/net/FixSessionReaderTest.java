@@ -0,0 +1,126 @@
+package com.parser.net;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class FixSessionReaderTest {
+    private static final byte[] EXECUTION_REPORT = ("8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final AtomicInteger validMessages = new AtomicInteger();
+    private final AtomicInteger quantity = new AtomicInteger();
+    private final AtomicInteger closedSessions = new AtomicInteger();
+    private FixSessionReader reader;
+    private FixAcceptor acceptor;
+
+    @Before
+    public void setUp() throws IOException {
+        reader = new FixSessionReader(new FixMessageHandler() {
+            @Override
+            public void onMessage(FixSession session, byte[] data, int offset, int length, boolean valid) {
+                if (valid) validMessages.incrementAndGet();
+                quantity.addAndGet(session.getParser().getInt(data, 38));
+            }
+
+            @Override
+            public void onSessionClosed(FixSession session) {
+                closedSessions.incrementAndGet();
+            }
+        }, SelectMode.BLOCK, 1024, 200);
+        acceptor = new FixAcceptor(new InetSocketAddress("127.0.0.1", 0), reader);
+        new Thread(reader).start();
+        new Thread(acceptor).start();
+    }
+
+    @After
+    public void tearDown() {
+        acceptor.close();
+        reader.close();
+    }
+
+    @Test
+    public void readerFramesFragmentedAndBatchedMessages() throws Exception {
+        try (SocketChannel client = SocketChannel.open(acceptor.getLocalAddress())) {
+            // one message split in two writes
+            write(client, EXECUTION_REPORT, 0, 50);
+            Thread.sleep(50);
+            write(client, EXECUTION_REPORT, 50, EXECUTION_REPORT.length - 50);
+            // three messages in one write
+            byte[] batch = new byte[EXECUTION_REPORT.length * 3];
+            for (int i = 0; i < 3; i++) {
+                System.arraycopy(EXECUTION_REPORT, 0, batch, i * EXECUTION_REPORT.length, EXECUTION_REPORT.length);
+            }
+            write(client, batch, 0, batch.length);
+
+            awaitEquals(4, validMessages);
+            assertEquals(4 * 15, quantity.get());
+        }
+        awaitEquals(1, closedSessions);
+    }
+
+    @Test
+    public void readerClosesSessionOnMalformedInput() throws Exception {
+        try (SocketChannel client = SocketChannel.open(acceptor.getLocalAddress())) {
+            byte[] garbage = "35=8\u000155=MSFT\u0001".getBytes(StandardCharsets.US_ASCII);
+            write(client, garbage, 0, garbage.length);
+            awaitEquals(1, closedSessions);
+            assertEquals(0, validMessages.get());
+        }
+    }
+
+    @Test
+    public void failingSessionDoesNotAffectOthers() throws Exception {
+        try (SocketChannel healthy = SocketChannel.open(acceptor.getLocalAddress());
+             SocketChannel bad = SocketChannel.open(acceptor.getLocalAddress())) {
+            write(healthy, EXECUTION_REPORT, 0, EXECUTION_REPORT.length);
+            awaitEquals(1, validMessages);
+
+            // well framed, but the parser cannot read the tag
+            byte[] badTag = fix("35=8\u0001AB=1\u000138=15\u0001");
+            write(bad, badTag, 0, badTag.length);
+            awaitEquals(1, closedSessions);
+
+            write(healthy, EXECUTION_REPORT, 0, EXECUTION_REPORT.length);
+            awaitEquals(2, validMessages);
+            assertEquals(1, closedSessions.get());
+            assertEquals(1, reader.getSessionCount());
+        }
+    }
+
+    private static byte[] fix(String body) {
+        String message = "8=FIX.4.4\u00019=" + body.length() + "\u0001" + body;
+        int sum = 0;
+        for (int i = 0; i < message.length(); i++) {
+            sum += message.charAt(i);
+        }
+        return (message + String.format("10=%03d\u0001", sum % 256)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void write(SocketChannel channel, byte[] data, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void awaitEquals(int expected, AtomicInteger actual) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (actual.get() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, actual.get());
+    }
+}
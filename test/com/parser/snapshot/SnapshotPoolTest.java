@@ -0,0 +1,130 @@
+package com.parser.snapshot;
+
+import com.parser.FixParser;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class SnapshotPoolTest {
+    private static final byte[] EXECUTION_REPORT = ("8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEW_ORDER = ("8=FIX.4.4\u00019=148\u000135=D\u000134=1080\u000149=TEST1111\u000152=20260107-18:14:19.508\u000156=TESTLEG11\u000111=636730640278898634\u000115=USD\u000121=2\u000138=7000\u000140=1\u000154=1\u000155=MSFT\u000160=20260107-18:14:19.492\u000110=092\u0001")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final FixParser fixParser = new FixParser();
+
+    @Test
+    public void snapshotOutlivesNextParse() {
+        SnapshotPool pool = new SnapshotPool(2, 512, 200);
+        fixParser.parse(EXECUTION_REPORT);
+        MessageSnapshot snapshot = pool.snapshot(EXECUTION_REPORT, fixParser);
+        fixParser.parse(NEW_ORDER);
+
+        assertEquals(EXECUTION_REPORT.length, snapshot.getLength());
+        assertEquals(15.0, snapshot.getDouble(38), 0.0001);
+        assertEquals(178, snapshot.getInt(9));
+        assertEquals(0L, snapshot.getLong(14));
+        assertTrue(snapshot.fieldDoesNotExists(60));
+        byte[] symbol = new byte[8];
+        assertEquals(4, snapshot.getBytes(55, symbol));
+        assertEquals("MSFT", new String(symbol, 0, 4, StandardCharsets.US_ASCII));
+        assertThrows(RuntimeException.class, () -> snapshot.getInt(60));
+    }
+
+    @Test
+    public void snapshotCopiesMessageParsedAtOffset() {
+        // two messages in one receive buffer, the second parsed in place
+        byte[] buffer = new byte[1024];
+        System.arraycopy(NEW_ORDER, 0, buffer, 0, NEW_ORDER.length);
+        System.arraycopy(EXECUTION_REPORT, 0, buffer, NEW_ORDER.length, EXECUTION_REPORT.length);
+        SnapshotPool pool = new SnapshotPool(1, 256, 200);
+        assertTrue(fixParser.parse(buffer, NEW_ORDER.length, EXECUTION_REPORT.length));
+
+        MessageSnapshot snapshot = pool.snapshot(buffer, fixParser);
+        Arrays.fill(buffer, (byte) 0);
+        assertEquals(EXECUTION_REPORT.length, snapshot.getLength());
+        assertArrayEquals(EXECUTION_REPORT, Arrays.copyOf(snapshot.getData(), snapshot.getLength()));
+        assertEquals(15.0, snapshot.getDouble(38), 0.0001);
+        assertEquals(2, snapshot.getOffset(8));
+        byte[] symbol = new byte[8];
+        assertEquals(4, snapshot.getBytes(55, symbol));
+        assertEquals("MSFT", new String(symbol, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void releaseReturnsSnapshotToPool() {
+        SnapshotPool pool = new SnapshotPool(1, 512, 200);
+        fixParser.parse(EXECUTION_REPORT);
+        MessageSnapshot snapshot = pool.snapshot(EXECUTION_REPORT, fixParser);
+        assertNull(pool.snapshot(EXECUTION_REPORT, fixParser));
+
+        snapshot.retain();
+        assertFalse(snapshot.release());
+        assertEquals(0, pool.available());
+        assertTrue(snapshot.release());
+        assertEquals(1, pool.available());
+        assertThrows(IllegalStateException.class, snapshot::release);
+        assertThrows(IllegalStateException.class, snapshot::retain);
+
+        assertSame(snapshot, pool.snapshot(EXECUTION_REPORT, fixParser));
+    }
+
+    @Test
+    public void snapshotRejectsOversizedMessageOrMismatchedParser() {
+        SnapshotPool pool = new SnapshotPool(1, 16, 200);
+        fixParser.parse(EXECUTION_REPORT);
+        assertThrows(IllegalArgumentException.class, () -> pool.snapshot(EXECUTION_REPORT, fixParser));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnapshotPool(1, 512, 100).snapshot(EXECUTION_REPORT, fixParser));
+    }
+
+    @Test
+    public void rejectsNonPositivePoolSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotPool(0, 512, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotPool(-1, 512, 1024));
+    }
+
+    @Test
+    public void snapshotsAreReadAndReleasedOnAnotherThread() throws Exception {
+        SnapshotPool pool = new SnapshotPool(4, 512, 200);
+        BlockingQueue<MessageSnapshot> queue = new ArrayBlockingQueue<>(4);
+        final int messages = 10_000;
+        final long[] quantity = new long[1];
+
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < messages; i++) {
+                    MessageSnapshot snapshot = queue.take();
+                    quantity[0] += snapshot.getLong(38);
+                    snapshot.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+
+        for (int i = 0; i < messages; i++) {
+            byte[] message = (i & 1) == 0 ? EXECUTION_REPORT : NEW_ORDER;
+            fixParser.parse(message);
+            MessageSnapshot snapshot;
+            while ((snapshot = pool.snapshot(message, fixParser)) == null) {
+                Thread.onSpinWait();
+            }
+            queue.put(snapshot);
+        }
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals((messages / 2) * (15L + 7000L), quantity[0]);
+        assertEquals(4, pool.available());
+    }
+}
@@ -0,0 +1,58 @@
+package com.parser.utils;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class ByteInternerTest {
+
+    @Test
+    public void internReturnsSameIdForEqualValues() {
+        ByteInterner interner = new ByteInterner(4, 32);
+        byte[] data = "55=MSFT;55=IBM;55=MSFT;".getBytes(StandardCharsets.US_ASCII);
+
+        int msft = interner.intern(data, 3, 4);
+        int ibm = interner.intern(data, 11, 3);
+        assertEquals(msft, interner.intern(data, 18, 4));
+        assertNotEquals(msft, ibm);
+        assertEquals(2, interner.size());
+        assertEquals("IBM", interner.toString(ibm));
+    }
+
+    @Test
+    public void lookupDoesNotAdd() {
+        ByteInterner interner = new ByteInterner(4, 32);
+        byte[] data = "MSFT".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(-1, interner.lookup(data, 0, 4));
+        int id = interner.intern(data, 0, 4);
+        assertEquals(id, interner.lookup(data, 0, 4));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void getBytesCopiesValue() {
+        ByteInterner interner = new ByteInterner(4, 32);
+        int id = interner.intern("VOD.L".getBytes(StandardCharsets.US_ASCII), 0, 5);
+        byte[] dest = new byte[8];
+        assertEquals(5, interner.getBytes(id, dest));
+        assertEquals(5, interner.getLength(id));
+        assertEquals("VOD.L", new String(dest, 0, 5, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void internThrowsWhenFull() {
+        ByteInterner interner = new ByteInterner(2, 32);
+        byte[] data = "ABC".getBytes(StandardCharsets.US_ASCII);
+        interner.intern(data, 0, 1);
+        interner.intern(data, 1, 1);
+        assertThrows(RuntimeException.class, () -> interner.intern(data, 2, 1));
+
+        ByteInterner small = new ByteInterner(4, 2);
+        assertThrows(RuntimeException.class, () -> small.intern(data, 0, 3));
+    }
+}
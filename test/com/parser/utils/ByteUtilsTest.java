@@ -126,4 +126,81 @@ public class ByteUtilsTest {
 
     }
 
+    @Test
+    public void testReadScaledLong() {
+        //Length zero should return 0
+        assertEquals(0, ByteUtils.readScaledLong(new byte[3], 3, 0, 4));
+
+        byte[] data = "44=150.5;".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(1505000L, ByteUtils.readScaledLong(data, 3, 5, 4));
+
+        // Whole number and negative value
+        assertEquals(2000000L, ByteUtils.readScaledLong("200".getBytes(), 0, 3, 4));
+        assertEquals(-752500L, ByteUtils.readScaledLong("-75.25".getBytes(), 0, 6, 4));
+
+        // Trailing zeros beyond the scale are accepted
+        assertEquals(12L, ByteUtils.readScaledLong("1.2000".getBytes(), 0, 6, 1));
+
+        // Invalid input and significant digits beyond the scale
+        assertThrows(NumberFormatException.class, () -> ByteUtils.readScaledLong("1.2A".getBytes(), 0, 4, 4));
+        assertThrows(NumberFormatException.class, () -> ByteUtils.readScaledLong("1.25".getBytes(), 0, 4, 1));
+    }
+
+    @Test
+    public void testWriteLong() {
+        byte[] dest = new byte[24];
+        assertEquals(4, ByteUtils.writeLong(1092, dest, 0));
+        assertEquals("1092", new String(dest, 0, 4, StandardCharsets.US_ASCII));
+
+        assertEquals(1, ByteUtils.writeLong(0, dest, 0));
+        assertEquals("0", new String(dest, 0, 1, StandardCharsets.US_ASCII));
+
+        assertEquals(20, ByteUtils.writeLong(Long.MIN_VALUE, dest, 2));
+        assertEquals(String.valueOf(Long.MIN_VALUE), new String(dest, 2, 20, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testWriteScaledLong() {
+        byte[] dest = new byte[24];
+        int length = ByteUtils.writeScaledLong(1505000L, 4, dest, 0);
+        assertEquals("150.5", new String(dest, 0, length, StandardCharsets.US_ASCII));
+
+        length = ByteUtils.writeScaledLong(150000L, 4, dest, 0);
+        assertEquals("15", new String(dest, 0, length, StandardCharsets.US_ASCII));
+
+        length = ByteUtils.writeScaledLong(-5L, 4, dest, 0);
+        assertEquals("-0.0005", new String(dest, 0, length, StandardCharsets.US_ASCII));
+
+        length = ByteUtils.writeScaledLong(-752500L, 4, dest, 0);
+        assertEquals("-75.25", new String(dest, 0, length, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testBinaryReadWrite() {
+        byte[] data = new byte[16];
+        ByteUtils.writeBinaryShort((short) -2, data, 1);
+        assertEquals(-2, ByteUtils.readBinaryShort(data, 1));
+
+        ByteUtils.writeBinaryInt(0x01020304, data, 3);
+        assertEquals(0x04, data[3]); // little-endian
+        assertEquals(0x01020304, ByteUtils.readBinaryInt(data, 3));
+
+        ByteUtils.writeBinaryLong(Long.MIN_VALUE + 7, data, 7);
+        assertEquals(Long.MIN_VALUE + 7, ByteUtils.readBinaryLong(data, 7));
+    }
+
+    @Test
+    public void testReadTimestampMillis() {
+        byte[] data = "52=20071123-05:30:00.000;".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(1195795800000L, ByteUtils.readTimestampMillis(data, 3, 21));
+
+        // Without fraction, and with microseconds truncated to milliseconds
+        assertEquals(1767809659000L, ByteUtils.readTimestampMillis("20260107-18:14:19".getBytes(), 0, 17));
+        assertEquals(1767809659492L, ByteUtils.readTimestampMillis("20260107-18:14:19.492731".getBytes(), 0, 24));
+        assertEquals(951782400000L, ByteUtils.readTimestampMillis("20000229-00:00:00".getBytes(), 0, 17));
+
+        // Invalid input
+        assertThrows(NumberFormatException.class, () -> ByteUtils.readTimestampMillis("20260107 18:14:19".getBytes(), 0, 17));
+        assertThrows(NumberFormatException.class, () -> ByteUtils.readTimestampMillis("2026010".getBytes(), 0, 7));
+    }
 }
@@ -74,4 +74,31 @@ public class FieldsLocationMapTest {
         assertEquals(100, map.getOffset(index));
         assertEquals(10, map.getLength(index));
     }
+
+    @Test
+    public void copyToReplacesTargetEntries() {
+        FieldLocationMap map = new FieldLocationMap(10);
+        map.put(1, 100, 10);
+        map.put(11, 200, 20);
+        FieldLocationMap target = new FieldLocationMap(10);
+        target.put(2, 300, 30);
+
+        map.copyTo(target);
+        assertEquals(2, target.size());
+        assertFalse(target.containsKey(2));
+        assertEquals(200, target.getOffset(target.getIndex(11)));
+        assertEquals(20, target.getLength(target.getIndex(11)));
+        assertThrows(IllegalArgumentException.class, () -> map.copyTo(new FieldLocationMap(5)));
+    }
+
+    @Test
+    public void rebaseMovesOffsetsOnly() {
+        FieldLocationMap map = new FieldLocationMap(10);
+        map.put(1, 100, 10);
+        map.put(11, 200, 20);
+        map.rebase(100);
+        assertEquals(0, map.getOffset(map.getIndex(1)));
+        assertEquals(100, map.getOffset(map.getIndex(11)));
+        assertEquals(20, map.getLength(map.getIndex(11)));
+    }
 }
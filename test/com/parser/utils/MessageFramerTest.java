@@ -0,0 +1,57 @@
+package com.parser.utils;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class MessageFramerTest {
+    private static final String EXECUTION_REPORT = "8=FIX.4.2\u00019=178\u000135=8\u000149=PHLX\u000156=PERS\u000152=20071123-05:30:00.000\u000111=ATOMNOCCC9990900\u000120=3\u0001150=E\u000139=E\u000155=MSFT\u0001167=CS\u000154=1\u000138=15\u000140=2\u000144=15\u000158=PHLX EQUITY TESTING\u000159=0\u000147=C\u000132=0\u000131=0\u0001151=15\u000114=0\u00016=0\u000110=128\u0001";
+
+    @Test
+    public void frameLengthReturnsMessageLength() {
+        byte[] data = ("XX" + EXECUTION_REPORT + EXECUTION_REPORT).getBytes(StandardCharsets.US_ASCII);
+        assertEquals(EXECUTION_REPORT.length(), MessageFramer.frameLength(data, 2, data.length - 2));
+        int second = 2 + EXECUTION_REPORT.length();
+        assertEquals(EXECUTION_REPORT.length(), MessageFramer.frameLength(data, second, data.length - second));
+    }
+
+    @Test
+    public void frameLengthReturnsMalformedForOversizedBodyLength() {
+        // would overflow an int accumulator
+        assertEquals(MessageFramer.MALFORMED, frame("8=FIX.4.2\u00019=3000000000\u000135=8\u0001"));
+        assertEquals(MessageFramer.MALFORMED, frame("8=FIX.4.2\u00019=99999999999999999999\u000135=8\u0001"));
+        // fits in an int but can never fit in the array
+        assertEquals(MessageFramer.MALFORMED, frame("8=FIX.4.2\u00019=1000\u000135=8\u0001"));
+        byte[] buffer = new byte[2048];
+        byte[] header = "8=FIX.4.2\u00019=1000\u000135=8\u0001".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, buffer, 0, header.length);
+        assertEquals(MessageFramer.INCOMPLETE, MessageFramer.frameLength(buffer, 0, header.length));
+    }
+
+    @Test
+    public void frameLengthReturnsIncompleteForEveryPrefix() {
+        byte[] data = EXECUTION_REPORT.getBytes(StandardCharsets.US_ASCII);
+        for (int length = 0; length < data.length; length++) {
+            assertEquals(MessageFramer.INCOMPLETE, MessageFramer.frameLength(data, 0, length));
+        }
+    }
+
+    @Test
+    public void frameLengthReturnsMalformedForGarbage() {
+        assertEquals(MessageFramer.MALFORMED, frame("35=8\u0001"));
+        assertEquals(MessageFramer.MALFORMED, frame("8=FIX.4.2\u000135=8\u0001"));
+        assertEquals(MessageFramer.MALFORMED, frame("8=FIX.4.2\u00019=1A\u0001"));
+        // BodyLength pointing away from the CheckSum field
+        assertEquals(MessageFramer.MALFORMED, frame(EXECUTION_REPORT.replace("9=178", "9=170")));
+    }
+
+    private static int frame(String message) {
+        byte[] data = message.getBytes(StandardCharsets.US_ASCII);
+        return MessageFramer.frameLength(data, 0, data.length);
+    }
+}